@@ -1,9 +1,14 @@
 package com.pennycontrol.authservice;
 
 import com.pennycontrol.common.annotation.EnableCors;
+import com.pennycontrol.common.annotation.EnableDiagnostics;
 import com.pennycontrol.common.annotation.EnableExceptionHandling;
 import com.pennycontrol.common.annotation.EnableJwt;
+import com.pennycontrol.common.annotation.EnableOutbox;
+import com.pennycontrol.common.annotation.EnableSchemaVersionCheck;
 import com.pennycontrol.common.annotation.EnableSecurity;
+import com.pennycontrol.common.annotation.EnableTokenRevocation;
+import com.pennycontrol.common.annotation.EnableWarmup;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -22,6 +27,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableSecurity
 @EnableCors
 @EnableExceptionHandling
+@EnableDiagnostics
+@EnableTokenRevocation
+@EnableSchemaVersionCheck
+@EnableWarmup
+@EnableOutbox
 @EnableScheduling
 public class AuthServiceApplication {
 
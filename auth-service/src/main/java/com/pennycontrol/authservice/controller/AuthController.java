@@ -5,6 +5,7 @@ import com.pennycontrol.authservice.dto.request.UserLoginRequest;
 import com.pennycontrol.authservice.dto.request.UserSignupRequest;
 import com.pennycontrol.authservice.dto.response.AuthResponse;
 import com.pennycontrol.authservice.dto.response.RegistrationResponse;
+import com.pennycontrol.authservice.ratelimit.LoginRateLimiter;
 import com.pennycontrol.authservice.service.AuthService;
 import com.pennycontrol.common.dto.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,12 +27,16 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<RegistrationResponse>> register(
-            @Valid @RequestBody UserSignupRequest request) {
+            @Valid @RequestBody UserSignupRequest request,
+            HttpServletRequest httpRequest) {
         log.info("Received signup request for email: {}", request.getEmail());
 
+        loginRateLimiter.checkRegister(request.getEmail(), httpRequest);
+
         RegistrationResponse response = authService.signup(request);
 
         return ResponseEntity
@@ -45,6 +50,8 @@ public class AuthController {
             HttpServletRequest httpRequest) {
         log.info("Received login request for email: {}", request.getEmail());
 
+        loginRateLimiter.checkLogin(request.getEmail(), httpRequest);
+
         AuthResponse response = authService.login(request, httpRequest);
 
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
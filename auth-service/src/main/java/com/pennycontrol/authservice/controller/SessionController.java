@@ -0,0 +1,46 @@
+package com.pennycontrol.authservice.controller;
+
+import com.pennycontrol.authservice.dto.response.SessionResponse;
+import com.pennycontrol.authservice.service.SessionService;
+import com.pennycontrol.common.annotation.RequireRole;
+import com.pennycontrol.common.dto.ApiResponse;
+import com.pennycontrol.common.dto.CursorPageResponse;
+import com.pennycontrol.common.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/auth/sessions")
+@RequiredArgsConstructor
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageResponse<SessionResponse>>> getMySessions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        log.info("Received active sessions request for user ID: {}", userId);
+
+        return ResponseEntity.ok(ApiResponse.success(sessionService.listActiveSessions(userId, cursor, limit)));
+    }
+
+    @GetMapping("/users/{userId}")
+    @RequireRole("ROLE_ADMIN")
+    public ResponseEntity<ApiResponse<CursorPageResponse<SessionResponse>>> getUserSessions(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("Received admin active sessions request for user ID: {}", userId);
+
+        return ResponseEntity.ok(ApiResponse.success(sessionService.listActiveSessions(userId, cursor, limit)));
+    }
+}
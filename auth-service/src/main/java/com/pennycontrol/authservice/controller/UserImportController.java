@@ -0,0 +1,65 @@
+package com.pennycontrol.authservice.controller;
+
+import com.pennycontrol.authservice.dto.response.UserImportResponse;
+import com.pennycontrol.authservice.importer.UserImportReader;
+import com.pennycontrol.authservice.service.UserImportService;
+import com.pennycontrol.common.annotation.RequireRole;
+import com.pennycontrol.common.dto.ApiResponse;
+import com.pennycontrol.common.exception.ValidationException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Locale;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/auth/users")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    /**
+     * Bulk import users from the raw request body
+     * Format comes from ?format=csv|ndjson, or from Content-Type (text/csv, application/x-ndjson)
+     */
+    @PostMapping("/import")
+    @RequireRole("ROLE_ADMIN")
+    public ResponseEntity<ApiResponse<UserImportResponse>> importUsers(
+            @RequestParam(required = false) String format,
+            HttpServletRequest httpRequest) throws IOException {
+        UserImportReader.Format importFormat = resolveFormat(format, httpRequest.getContentType());
+        log.info("Received bulk user import request ({})", importFormat);
+
+        UserImportResponse response = userImportService.importUsers(httpRequest.getInputStream(), importFormat);
+
+        return ResponseEntity.ok(ApiResponse.success("Bulk import completed", response));
+    }
+
+    private UserImportReader.Format resolveFormat(String format, String contentType) {
+        if (format != null) {
+            try {
+                return UserImportReader.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new ValidationException("format must be 'csv' or 'ndjson'");
+            }
+        }
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return UserImportReader.Format.CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return UserImportReader.Format.NDJSON;
+            }
+        }
+        throw new ValidationException("Unsupported import format; use text/csv or application/x-ndjson");
+    }
+}
@@ -0,0 +1,24 @@
+package com.pennycontrol.authservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SessionResponse {
+
+    private Long sessionId;
+    private String ipAddress;
+    private String userAgent;
+    private LocalDateTime issuedAt;
+    private LocalDateTime lastUsedAt;
+    private LocalDateTime expiresAt;
+}
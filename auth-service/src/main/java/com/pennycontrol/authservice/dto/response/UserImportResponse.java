@@ -0,0 +1,49 @@
+package com.pennycontrol.authservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResponse {
+
+    private long totalRows;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long durationMillis;
+
+    /**
+     * Rows that were not imported, in input order
+     */
+    private List<RowResult> rejectedRows;
+
+    /**
+     * True if more rows were rejected than listed in rejectedRows
+     */
+    private boolean rejectedRowsTruncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowResult {
+        public static final String INVALID = "INVALID";
+        public static final String DUPLICATE_IN_FILE = "DUPLICATE_IN_FILE";
+        public static final String ALREADY_EXISTS = "ALREADY_EXISTS";
+
+        private int lineNumber;
+        private String email;
+        private String status;
+        private String reason;
+    }
+}
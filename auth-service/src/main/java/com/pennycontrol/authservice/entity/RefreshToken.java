@@ -7,7 +7,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.net.InetAddress;
 import java.time.LocalDateTime;
 
 @Entity
@@ -18,6 +21,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class RefreshToken {
 
+    // Assigned by the column default in ActiveSessionRepository.insertWithSessionCap
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,9 +30,12 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "token_hash", nullable = false, unique = true, length = 255)
+    @Column(name = "token_hash", length = 255)
     private String tokenHash;
 
+    @Column(name = "verifier_hash")
+    private byte[] verifierHash;
+
     @CreationTimestamp
     @Column(name = "issued_at", nullable = false, updatable = false)
     private LocalDateTime issuedAt;
@@ -43,16 +50,19 @@ public class RefreshToken {
     @Builder.Default
     private Boolean isRevoked = false;
 
-    @Column(name = "ip_address", length = 45)
-    private String ipAddress;
+    @JdbcTypeCode(SqlTypes.INET)
+    @Column(name = "ip_address", columnDefinition = "inet")
+    private InetAddress ipAddress;
 
-    @Column(name = "user_agent", columnDefinition = "TEXT")
-    private String userAgent;
+    // user_agents.id, resolved through UserAgentDictionary
+    @Column(name = "user_agent_id")
+    private Integer userAgentId;
 
-    @Column(name = "last_used_at")
+    // Written by RefreshTokenRepository.revokeOnRotation; never written back from the entity
+    @Column(name = "last_used_at", updatable = false)
     private LocalDateTime lastUsedAt;
 
-    @Column(name = "usage_count")
+    @Column(name = "usage_count", updatable = false)
     @Builder.Default
     private Integer usageCount = 0;
 }
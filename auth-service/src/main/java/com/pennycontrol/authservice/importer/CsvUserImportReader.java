@@ -0,0 +1,130 @@
+package com.pennycontrol.authservice.importer;
+
+import com.pennycontrol.authservice.dto.request.UserSignupRequest;
+import com.pennycontrol.common.exception.ValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV with a header row naming the columns:
+ * email, password, name, phone_number, currency (only email and password are required)
+ *
+ * Fields may be quoted with '"' and quotes escaped by doubling them.
+ * Quoted fields spanning several lines are not supported.
+ */
+class CsvUserImportReader implements UserImportReader {
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private int emailColumn = -1;
+    private int passwordColumn = -1;
+    private int nameColumn = -1;
+    private int phoneColumn = -1;
+    private int currencyColumn = -1;
+
+    CsvUserImportReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readHeader();
+    }
+
+    @Override
+    public UserImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> fields = split(line);
+        if (fields == null) {
+            return UserImportRow.failed(lineNumber, "Unterminated quoted field");
+        }
+
+        return UserImportRow.parsed(lineNumber, UserSignupRequest.builder()
+                .email(field(fields, emailColumn))
+                .password(field(fields, passwordColumn))
+                .name(field(fields, nameColumn))
+                .phoneNumber(field(fields, phoneColumn))
+                .currency(field(fields, currencyColumn))
+                .build());
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        List<String> columns = header != null ? split(header) : null;
+        if (columns == null) {
+            throw new ValidationException("CSV import requires a header row");
+        }
+
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "")) {
+                case "email" -> emailColumn = i;
+                case "password" -> passwordColumn = i;
+                case "name" -> nameColumn = i;
+                case "phonenumber" -> phoneColumn = i;
+                case "currency" -> currencyColumn = i;
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+
+        if (emailColumn < 0 || passwordColumn < 0) {
+            throw new ValidationException("CSV header must contain 'email' and 'password' columns");
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split one CSV line, or return null if a quoted field is not terminated
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
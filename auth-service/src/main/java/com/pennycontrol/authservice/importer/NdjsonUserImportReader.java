@@ -0,0 +1,41 @@
+package com.pennycontrol.authservice.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.authservice.dto.request.UserSignupRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line with the same fields as the register request
+ */
+class NdjsonUserImportReader implements UserImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private int lineNumber;
+
+    NdjsonUserImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public UserImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return UserImportRow.parsed(lineNumber, objectMapper.readValue(line, UserSignupRequest.class));
+        } catch (JsonProcessingException ex) {
+            return UserImportRow.failed(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+}
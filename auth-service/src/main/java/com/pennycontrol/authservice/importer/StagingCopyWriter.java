@@ -0,0 +1,102 @@
+package com.pennycontrol.authservice.importer;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Streams rows into the import staging table through COPY ... FROM STDIN (CSV)
+ *
+ * Rows are encoded into a reusable buffer and handed to the driver in
+ * chunks, so the whole load is a single COPY round trip per chunk instead of
+ * one INSERT per row.
+ */
+public class StagingCopyWriter implements AutoCloseable {
+
+    static final String COPY_SQL = """
+            COPY user_import_staging (line_number, email, password_hash, name, phone_number, currency)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private long rowCount;
+    private boolean finished;
+
+    public StagingCopyWriter(CopyManager copyManager) throws SQLException {
+        this.copyIn = copyManager.copyIn(COPY_SQL);
+    }
+
+    public void write(StagedUser user) throws SQLException {
+        buffer.append(user.lineNumber()).append(',');
+        appendField(user.email()).append(',');
+        appendField(user.passwordHash()).append(',');
+        appendField(user.name()).append(',');
+        appendField(user.phoneNumber()).append(',');
+        appendField(user.currency()).append('\n');
+        rowCount++;
+
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Complete the COPY
+     *
+     * @return rows written
+     */
+    public long finish() throws SQLException {
+        flushBuffer();
+        finished = true;
+        copyIn.endCopy();
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!finished && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    /**
+     * Null is written as an empty unquoted field; everything else is quoted
+     */
+    private StringBuilder appendField(String value) {
+        if (value == null) {
+            return buffer;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private void flushBuffer() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    public record StagedUser(
+            int lineNumber,
+            String email,
+            String passwordHash,
+            String name,
+            String phoneNumber,
+            String currency) {
+    }
+}
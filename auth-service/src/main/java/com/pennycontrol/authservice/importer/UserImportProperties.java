@@ -0,0 +1,31 @@
+package com.pennycontrol.authservice.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-import")
+public class UserImportProperties {
+
+    /**
+     * Password hashing threads shared by all imports (0 = number of CPUs)
+     */
+    private int hashThreads = 0;
+
+    /**
+     * Hash tasks in flight per hashing thread; bounds memory per import
+     */
+    private int inFlightPerThread = 4;
+
+    /**
+     * Maximum rows accepted in a single import
+     */
+    private int maxRows = 100_000;
+
+    /**
+     * Maximum per-row problems listed in the response (counts stay exact)
+     */
+    private int maxReportedRows = 10_000;
+}
@@ -0,0 +1,32 @@
+package com.pennycontrol.authservice.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pull-based reader over an import body; holds one line in memory at a time
+ */
+public interface UserImportReader {
+
+    /**
+     * Next row, or null at end of input
+     */
+    UserImportRow next() throws IOException;
+
+    enum Format {
+        CSV, NDJSON
+    }
+
+    static UserImportReader open(Format format, InputStream body, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return switch (format) {
+            case CSV -> new CsvUserImportReader(reader);
+            case NDJSON -> new NdjsonUserImportReader(reader, objectMapper);
+        };
+    }
+}
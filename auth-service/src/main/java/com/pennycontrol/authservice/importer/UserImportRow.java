@@ -0,0 +1,17 @@
+package com.pennycontrol.authservice.importer;
+
+import com.pennycontrol.authservice.dto.request.UserSignupRequest;
+
+/**
+ * One parsed input row: either a request or the reason it could not be parsed
+ */
+public record UserImportRow(int lineNumber, UserSignupRequest request, String error) {
+
+    static UserImportRow parsed(int lineNumber, UserSignupRequest request) {
+        return new UserImportRow(lineNumber, request, null);
+    }
+
+    static UserImportRow failed(int lineNumber, String error) {
+        return new UserImportRow(lineNumber, null, error);
+    }
+}
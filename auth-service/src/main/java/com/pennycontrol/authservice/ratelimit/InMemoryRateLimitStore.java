@@ -0,0 +1,112 @@
+package com.pennycontrol.authservice.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-striped, size-bounded in-memory token bucket store
+ *
+ * Keys are 64-bit hashes, so an entry costs roughly 90 bytes (map entry, boxed
+ * key and bucket) and a million buckets stay under 100 MB. Each stripe is an
+ * access-ordered LinkedHashMap with its own lock and capacity, evicting its
+ * least recently used bucket when full.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Stripe[] stripes;
+    private final long idleTimeoutNanos;
+
+    public InMemoryRateLimitStore(RateLimitProperties properties) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes()));
+        int perStripe = Math.max(1, properties.getMaxKeys() / stripeCount);
+
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        log.info("In-memory rate limit store: {} stripes x {} buckets", stripeCount, perStripe);
+    }
+
+    @Override
+    public boolean tryConsume(long key, RateLimitProperties.BucketLimit limit) {
+        Stripe stripe = stripes[(int) (key ^ (key >>> 32)) & (stripes.length - 1)];
+        long now = System.nanoTime();
+
+        stripe.lock.lock();
+        try {
+            TokenBucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(limit.getCapacity(), now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(limit, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                int before = stripe.buckets.size();
+                stripe.buckets.values().removeIf(bucket -> now - bucket.lastRefillNanos > idleTimeoutNanos);
+                evicted += before - stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, TokenBucket> buckets;
+
+        private Stripe(int capacity) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, TokenBucket> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    /**
+     * Classic token bucket, guarded by its stripe lock
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        private boolean tryConsume(RateLimitProperties.BucketLimit limit, long now) {
+            double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+            tokens = Math.min(limit.getCapacity(), tokens + elapsedSeconds * limit.refillPerSecond());
+            lastRefillNanos = now;
+
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.pennycontrol.authservice.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets shared by all replicas through the rate_limit_buckets table
+ *
+ * Refill and consumption happen in a single upsert, so concurrent requests for
+ * the same key serialize on the row lock and never over-admit.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "store", havingValue = "postgres")
+public class PostgresRateLimitStore implements RateLimitStore {
+
+    private static final String REFILLED_TOKENS = """
+            LEAST(:capacity, b.tokens
+                + EXTRACT(EPOCH FROM (clock_timestamp() - b.refilled_at))::double precision * :refillPerSecond)""";
+
+    private static final String CONSUME_SQL = """
+            INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, refilled_at, allowed)
+            VALUES (:key, :capacity - 1, clock_timestamp(), true)
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                tokens = CASE WHEN %1$s >= 1 THEN %1$s - 1 ELSE %1$s END,
+                allowed = %1$s >= 1,
+                refilled_at = clock_timestamp()
+            RETURNING allowed
+            """.formatted(REFILLED_TOKENS);
+
+    private static final String EVICT_SQL = """
+            DELETE FROM rate_limit_buckets
+            WHERE refilled_at < clock_timestamp() - make_interval(secs => :idleSeconds)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RateLimitProperties properties;
+
+    public PostgresRateLimitStore(NamedParameterJdbcTemplate jdbcTemplate, RateLimitProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        log.info("Postgres-backed rate limit store enabled (shared across replicas)");
+    }
+
+    @Override
+    public boolean tryConsume(long key, RateLimitProperties.BucketLimit limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("capacity", (double) limit.getCapacity())
+                .addValue("refillPerSecond", limit.refillPerSecond());
+
+        Boolean allowed = jdbcTemplate.queryForObject(CONSUME_SQL, params, Boolean.class);
+        return Boolean.TRUE.equals(allowed);
+    }
+
+    @Override
+    public void evictIdle() {
+        int deleted = jdbcTemplate.update(EVICT_SQL,
+                new MapSqlParameterSource("idleSeconds", (double) properties.getIdleTimeout().toSeconds()));
+        log.debug("Evicted {} idle rate limit buckets", deleted);
+    }
+}
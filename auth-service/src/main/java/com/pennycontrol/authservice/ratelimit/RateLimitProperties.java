@@ -0,0 +1,88 @@
+package com.pennycontrol.authservice.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Enable throttling of login and registration
+     */
+    private boolean enabled = true;
+
+    /**
+     * Bucket storage: "memory" (per replica) or "postgres" (shared across replicas)
+     */
+    private String store = "memory";
+
+    /**
+     * Maximum number of buckets kept in memory across all stripes
+     */
+    private int maxKeys = 1_000_000;
+
+    /**
+     * Number of independently locked stripes of the in-memory store
+     */
+    private int stripes = 64;
+
+    /**
+     * Buckets untouched for this long are full again and get evicted
+     */
+    private Duration idleTimeout = Duration.ofMinutes(15);
+
+    private EndpointLimits login = new EndpointLimits(
+            new BucketLimit(20, 20),
+            new BucketLimit(5, 5)
+    );
+
+    private EndpointLimits register = new EndpointLimits(
+            new BucketLimit(5, 5),
+            new BucketLimit(3, 3)
+    );
+
+    @Data
+    public static class EndpointLimits {
+        private BucketLimit perIp;
+        private BucketLimit perEmail;
+
+        public EndpointLimits() {
+            this(new BucketLimit(), new BucketLimit());
+        }
+
+        public EndpointLimits(BucketLimit perIp, BucketLimit perEmail) {
+            this.perIp = perIp;
+            this.perEmail = perEmail;
+        }
+    }
+
+    @Data
+    public static class BucketLimit {
+        /**
+         * Burst size: requests allowed back to back from a full bucket
+         */
+        private int capacity = 10;
+
+        /**
+         * Sustained rate: tokens added back per minute
+         */
+        private double refillPerMinute = 10;
+
+        public BucketLimit() {
+        }
+
+        public BucketLimit(int capacity, double refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        public double refillPerSecond() {
+            return refillPerMinute / 60.0;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.pennycontrol.authservice.ratelimit;
+
+/**
+ * Storage of token buckets
+ */
+public interface RateLimitStore {
+
+    /**
+     * Refill the bucket for the key and take one token from it
+     *
+     * @param key 64-bit hash of the bucket key
+     * @param limit Capacity and refill rate of the bucket
+     * @return true if a token was available and consumed
+     */
+    boolean tryConsume(long key, RateLimitProperties.BucketLimit limit);
+
+    /**
+     * Drop buckets that have been idle long enough to be full again
+     */
+    void evictIdle();
+}
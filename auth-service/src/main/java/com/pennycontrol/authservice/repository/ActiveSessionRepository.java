@@ -0,0 +1,168 @@
+package com.pennycontrol.authservice.repository;
+
+import com.pennycontrol.authservice.entity.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Active session queries on refresh_tokens
+ *
+ * Listing: every referenced column is in idx_refresh_tokens_active_sessions
+ * and the predicate matches its WHERE clause, so Postgres answers with an
+ * index-only scan. The cursor is applied as a row comparison, which the index
+ * can seek to directly instead of skipping over earlier pages.
+ *
+ * Creation: new tokens are inserted together with the eviction of the
+ * user's oldest active sessions beyond the configured cap.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActiveSessionRepository {
+
+    private static final String SELECT_SQL = """
+            SELECT id, issued_at, expires_at, last_used_at, host(ip_address) AS ip_address, user_agent_id
+            FROM refresh_tokens
+            WHERE user_id = :userId
+              AND is_revoked = false
+              AND expires_at > :now
+            """;
+
+    private static final String FIRST_PAGE_SQL = SELECT_SQL + """
+            ORDER BY issued_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+    private static final String NEXT_PAGE_SQL = SELECT_SQL + """
+              AND (issued_at, id) < (:cursorIssuedAt, :cursorId)
+            ORDER BY issued_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+    /**
+     * Serializes session creation per user. Each statement gets a fresh
+     * snapshot, so the capped insert that follows sees concurrent logins that
+     * committed while this one waited for the lock.
+     */
+    private static final String LOCK_USER_SQL =
+            "SELECT pg_advisory_xact_lock(hashtextextended('refresh_tokens.session_cap', :userId))";
+
+    private static final String INSERT_TOKEN = """
+            INSERT INTO refresh_tokens (user_id, token_hash, verifier_hash, issued_at, expires_at,
+                                        is_revoked, ip_address, user_agent_id, usage_count)
+            VALUES (:userId, :tokenHash, :verifierHash, :issuedAt, :expiresAt,
+                    false, CAST(:ipAddress AS inet), :userAgentId, 0)
+            RETURNING id
+            """;
+
+    private static final String INSERT_SQL =
+            "WITH inserted AS (" + INSERT_TOKEN + ") SELECT (SELECT id FROM inserted) AS id, 0 AS evicted";
+
+    /**
+     * Inserts the new token and revokes every active token beyond the newest
+     * (cap - 1) in one statement. Both CTEs see the same snapshot, so the new
+     * row takes no part in the ranking and exactly (cap - 1) others survive.
+     */
+    private static final String INSERT_WITH_CAP_SQL = "WITH inserted AS (" + INSERT_TOKEN + "), " + """
+            evicted AS (
+                UPDATE refresh_tokens
+                SET is_revoked = true, revoked_at = :issuedAt
+                WHERE id IN (
+                    SELECT id FROM refresh_tokens
+                    WHERE user_id = :userId
+                      AND is_revoked = false
+                      AND expires_at > :issuedAt
+                    ORDER BY issued_at DESC, id DESC
+                    OFFSET :keep
+                )
+                RETURNING id
+            )
+            SELECT (SELECT id FROM inserted) AS id, (SELECT count(*) FROM evicted) AS evicted
+            """;
+
+    private static final RowMapper<ActiveSession> ROW_MAPPER = (rs, rowNum) -> new ActiveSession(
+            rs.getLong("id"),
+            rs.getTimestamp("issued_at").toLocalDateTime(),
+            rs.getTimestamp("expires_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("last_used_at")),
+            rs.getString("ip_address"),
+            (Integer) rs.getObject("user_agent_id")
+    );
+
+    private static final RowMapper<InsertResult> INSERT_RESULT_MAPPER = (rs, rowNum) ->
+            new InsertResult(rs.getLong("id"), rs.getInt("evicted"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Newest active sessions first
+     *
+     * @param cursorIssuedAt issued_at of the last row of the previous page, or null for the first page
+     * @param cursorId id of the last row of the previous page
+     */
+    public List<ActiveSession> findActiveSessions(
+            Long userId, LocalDateTime cursorIssuedAt, Long cursorId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("limit", limit);
+
+        if (cursorIssuedAt == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, params, ROW_MAPPER);
+        }
+
+        params.addValue("cursorIssuedAt", Timestamp.valueOf(cursorIssuedAt))
+                .addValue("cursorId", cursorId);
+        return jdbcTemplate.query(NEXT_PAGE_SQL, params, ROW_MAPPER);
+    }
+
+    /**
+     * Insert a refresh token, revoking the user's oldest active sessions beyond the cap
+     * Must run inside a transaction; the advisory lock is released at commit
+     *
+     * @param maxActiveSessions cap on active sessions per user, 0 or less for no cap
+     * @return generated id and number of sessions revoked to make room
+     */
+    public InsertResult insertWithSessionCap(RefreshToken token, int maxActiveSessions) {
+        Long userId = token.getUser().getId();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("tokenHash", token.getTokenHash())
+                .addValue("verifierHash", token.getVerifierHash())
+                .addValue("issuedAt", Timestamp.valueOf(token.getIssuedAt()))
+                .addValue("expiresAt", Timestamp.valueOf(token.getExpiresAt()))
+                .addValue("ipAddress", token.getIpAddress() != null ? token.getIpAddress().getHostAddress() : null)
+                .addValue("userAgentId", token.getUserAgentId());
+
+        if (maxActiveSessions <= 0) {
+            return jdbcTemplate.queryForObject(INSERT_SQL, params, INSERT_RESULT_MAPPER);
+        }
+
+        jdbcTemplate.query(LOCK_USER_SQL, new MapSqlParameterSource("userId", userId), rs -> { });
+        params.addValue("keep", maxActiveSessions - 1);
+        return jdbcTemplate.queryForObject(INSERT_WITH_CAP_SQL, params, INSERT_RESULT_MAPPER);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    public record InsertResult(long id, int evicted) {
+    }
+
+    public record ActiveSession(
+            long id,
+            LocalDateTime issuedAt,
+            LocalDateTime expiresAt,
+            LocalDateTime lastUsedAt,
+            String ipAddress,
+            Integer userAgentId) {
+    }
+}
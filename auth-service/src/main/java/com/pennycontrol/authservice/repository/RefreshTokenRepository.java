@@ -13,10 +13,24 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     /**
-     * Find refresh token by token hash
+     * Find refresh token by token hash (legacy JWT-format tokens)
      */
     Optional<RefreshToken> findByTokenHash(String tokenHash);
 
+    /**
+     * Revoke a token on rotation and record that final use in the same UPDATE
+     * Rotation is the only use of a refresh token, so this is where usage statistics are written.
+     * Returns 0 when the token was already revoked, e.g. by a concurrent rotation that won the row lock
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE refresh_tokens
+            SET is_revoked = true, revoked_at = :now,
+                last_used_at = :now, usage_count = COALESCE(usage_count, 0) + 1
+            WHERE id = :id AND is_revoked = false
+            """, nativeQuery = true)
+    int revokeOnRotation(Long id, LocalDateTime now);
+
     /**
      * Delete expired tokens (cleanup job)
      */
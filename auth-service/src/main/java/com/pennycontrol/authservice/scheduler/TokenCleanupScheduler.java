@@ -1,6 +1,7 @@
 package com.pennycontrol.authservice.scheduler;
 
 import com.pennycontrol.authservice.repository.RefreshTokenRepository;
+import com.pennycontrol.common.diagnostics.jfr.TokenCleanupEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -34,14 +35,29 @@ public class TokenCleanupScheduler {
         log.info("Starting scheduled token cleanup job");
 
         // Delete expired tokens
+        TokenCleanupEvent expiredEvent = new TokenCleanupEvent();
+        expiredEvent.begin();
         int expiredDeleted = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+        commitEvent(expiredEvent, TokenCleanupEvent.EXPIRED, expiredDeleted);
         log.info("Deleted {} expired tokens", expiredDeleted);
 
         // Delete revoked tokens older than 30 days (keep recent ones for audit)
+        TokenCleanupEvent revokedEvent = new TokenCleanupEvent();
+        revokedEvent.begin();
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
         int revokedDeleted = refreshTokenRepository.deleteOldRevokedTokens(cutoffDate);
+        commitEvent(revokedEvent, TokenCleanupEvent.REVOKED, revokedDeleted);
         log.info("Deleted {} old revoked tokens (older than 30 days)", revokedDeleted);
 
         log.info("Token cleanup completed. Total deleted: {}", expiredDeleted + revokedDeleted);
     }
+
+    /**
+     * Complete and commit a cleanup batch JFR event
+     */
+    private void commitEvent(TokenCleanupEvent event, String batch, int rowsAffected) {
+        event.batch = batch;
+        event.rowsAffected = rowsAffected;
+        event.commit();
+    }
 }
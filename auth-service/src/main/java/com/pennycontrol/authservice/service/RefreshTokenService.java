@@ -1,12 +1,26 @@
 package com.pennycontrol.authservice.service;
 
 import com.pennycontrol.authservice.entity.RefreshToken;
+import com.pennycontrol.common.dto.UserPrincipal;
 import com.pennycontrol.common.entity.User;
 
 public interface RefreshTokenService {
 
     /**
-     * Create and store a new refresh token
+     * Issue and store a new refresh token in the configured format
+     * (opaque "{id}.{verifier}" by default, or a signed JWT)
+     * Revokes the user's oldest active tokens beyond refresh-token.max-active-sessions
+     *
+     * @param user User for whom to issue the token
+     * @param userPrincipal Principal used for JWT-format tokens
+     * @param ipAddress Client IP address
+     * @param userAgent Client user agent
+     * @return The token string to return to the client
+     */
+    String issueRefreshToken(User user, UserPrincipal userPrincipal, String ipAddress, String userAgent);
+
+    /**
+     * Create and store a new JWT-format refresh token
      *
      * @param user User for whom to create the token
      * @param token The actual JWT refresh token string
@@ -18,6 +32,7 @@ public interface RefreshTokenService {
 
     /**
      * Validate and retrieve refresh token
+     * Accepts both opaque and JWT-format tokens
      *
      * @param token The refresh token string to validate
      * @return RefreshToken entity if valid
@@ -26,7 +41,8 @@ public interface RefreshTokenService {
 
     /**
      * Revoke a specific refresh token (used during token rotation)
-     * Marks token as revoked but keeps it in DB for audit trail
+     * Marks token as revoked but keeps it in DB for audit trail, and records
+     * the use (last_used_at, usage_count) in the same UPDATE
      *
      * @param token The token to revoke
      */
@@ -49,11 +65,4 @@ public interface RefreshTokenService {
      * @param userId User ID
      */
     void deleteAllUserTokens(Long userId);
-
-    /**
-     * Increment usage count and update last used timestamp
-     *
-     * @param refreshToken The token that was used
-     */
-    void markTokenAsUsed(RefreshToken refreshToken);
 }
@@ -0,0 +1,17 @@
+package com.pennycontrol.authservice.service;
+
+import com.pennycontrol.authservice.dto.response.SessionResponse;
+import com.pennycontrol.common.dto.CursorPageResponse;
+
+public interface SessionService {
+
+    /**
+     * List active (not revoked, not expired) sessions of a user, newest first
+     *
+     * @param userId User whose sessions to list
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param limit Maximum number of sessions to return
+     * @return Page of sessions with the cursor for the next page
+     */
+    CursorPageResponse<SessionResponse> listActiveSessions(Long userId, String cursor, int limit);
+}
@@ -0,0 +1,19 @@
+package com.pennycontrol.authservice.service;
+
+import com.pennycontrol.authservice.dto.response.UserImportResponse;
+import com.pennycontrol.authservice.importer.UserImportReader;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    /**
+     * Bulk-create users from a CSV or NDJSON stream
+     * Rows are validated like /register, new users get ROLE_USER; duplicates are reported per row
+     *
+     * @param body Request body, read incrementally
+     * @param format Body format
+     * @return Counts and the rows that were not imported
+     */
+    UserImportResponse importUsers(InputStream body, UserImportReader.Format format);
+}
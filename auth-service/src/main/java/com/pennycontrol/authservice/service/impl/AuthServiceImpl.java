@@ -12,11 +12,17 @@ import com.pennycontrol.authservice.repository.UserRepository;
 import com.pennycontrol.authservice.service.AuthService;
 import com.pennycontrol.authservice.service.RefreshTokenService;
 import com.pennycontrol.common.dto.UserPrincipal;
+import com.pennycontrol.common.dto.event.UserEvents;
+import com.pennycontrol.common.dto.event.UserRegisteredEvent;
+import com.pennycontrol.common.dto.event.UserSessionsRevokedEvent;
 import com.pennycontrol.common.exception.ErrorCode;
 import com.pennycontrol.common.exception.UnauthorizedException;
 import com.pennycontrol.common.exception.ValidationException;
+import com.pennycontrol.common.outbox.OutboxPublisher;
 import com.pennycontrol.common.security.jwt.JwtProperties;
 import com.pennycontrol.common.security.jwt.JwtTokenProvider;
+import com.pennycontrol.common.security.revocation.TokenRevocationService;
+import com.pennycontrol.common.util.RequestUtils;
 import com.pennycontrol.common.util.SecurityUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +31,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -40,7 +47,8 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtProperties jwtProperties;
-
+    private final TokenRevocationService tokenRevocationService;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
     @Transactional
@@ -83,6 +91,15 @@ public class AuthServiceImpl implements AuthService {
         User savedUser = userRepository.save(user);
         log.info("User registered successfully with ID: {}", savedUser.getId());
 
+        outboxPublisher.publish(UserEvents.AGGREGATE_TYPE, savedUser.getId(), UserEvents.REGISTERED,
+                UserRegisteredEvent.builder()
+                        .userId(savedUser.getId())
+                        .email(savedUser.getEmail())
+                        .name(savedUser.getName())
+                        .currency(savedUser.getCurrency())
+                        .registeredAt(LocalDateTime.now())
+                        .build());
+
         // Return success response without tokens
         return RegistrationResponse.builder()
                 .email(savedUser.getEmail())
@@ -125,12 +142,11 @@ public class AuthServiceImpl implements AuthService {
 
         // Generate tokens
         String accessToken = jwtTokenProvider.generateAccessToken(userPrincipal);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userPrincipal);
 
-        // Store refresh token in database
-        String ipAddress = extractIpAddress(httpRequest);
-        String userAgent = extractUserAgent(httpRequest);
-        refreshTokenService.createRefreshToken(user, refreshToken, ipAddress, userAgent);
+        // Issue and store refresh token
+        String ipAddress = RequestUtils.extractClientIp(httpRequest);
+        String userAgent = RequestUtils.extractUserAgent(httpRequest);
+        String refreshToken = refreshTokenService.issueRefreshToken(user, userPrincipal, ipAddress, userAgent);
 
         log.info("User logged in successfully: {}", user.getEmail());
 
@@ -156,22 +172,18 @@ public class AuthServiceImpl implements AuthService {
         RefreshToken storedToken = refreshTokenService.validateRefreshToken(refreshToken);
         User user = storedToken.getUser();
 
-        // Mark token as used
-        refreshTokenService.markTokenAsUsed(storedToken);
-
-        // Revoke old refresh token (token rotation for security)
+        // Revoke old refresh token (token rotation for security); records its use in the same write
         refreshTokenService.revokeRefreshToken(refreshToken);
 
         // Generate new tokens
         UserPrincipal userPrincipal = createUserPrincipal(user);
 
         String newAccessToken = jwtTokenProvider.generateAccessToken(userPrincipal);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(userPrincipal);
 
-        // Store new refresh token
-        String ipAddress = extractIpAddress(httpRequest);
-        String userAgent = extractUserAgent(httpRequest);
-        refreshTokenService.createRefreshToken(user, newRefreshToken, ipAddress, userAgent);
+        // Issue and store new refresh token
+        String ipAddress = RequestUtils.extractClientIp(httpRequest);
+        String userAgent = RequestUtils.extractUserAgent(httpRequest);
+        String newRefreshToken = refreshTokenService.issueRefreshToken(user, userPrincipal, ipAddress, userAgent);
 
         log.info("Refresh token rotated successfully for user ID: {}", user.getId());
 
@@ -194,8 +206,10 @@ public class AuthServiceImpl implements AuthService {
         log.info("Processing logout request for user ID: {}", userId);
 
         refreshTokenService.deleteAllUserTokens(userId);
+        tokenRevocationService.revokeAllTokens(userId);
+        publishSessionsRevoked(userId, UserSessionsRevokedEvent.SCOPE_ALL);
 
-        log.info("Logout successful - all refresh tokens deleted for user ID: {}", userId);
+        log.info("Logout successful - all refresh tokens deleted and access tokens revoked for user ID: {}", userId);
     }
 
     @Override
@@ -205,10 +219,20 @@ public class AuthServiceImpl implements AuthService {
         log.info("Processing single device logout request for user ID: {}", userId);
 
         refreshTokenService.deleteRefreshToken(refreshToken, userId);
+        publishSessionsRevoked(userId, UserSessionsRevokedEvent.SCOPE_DEVICE);
 
         log.info("Single device logout successful for user ID: {}", userId);
     }
 
+    private void publishSessionsRevoked(Long userId, String scope) {
+        outboxPublisher.publish(UserEvents.AGGREGATE_TYPE, userId, UserEvents.SESSIONS_REVOKED,
+                UserSessionsRevokedEvent.builder()
+                        .userId(userId)
+                        .scope(scope)
+                        .revokedAt(LocalDateTime.now())
+                        .build());
+    }
+
     /**
      * Create UserPrincipal from User entity
      */
@@ -224,25 +248,4 @@ public class AuthServiceImpl implements AuthService {
                 roleNames
         );
     }
-
-    /**
-     * Extract IP address from HTTP request
-     */
-    private String extractIpAddress(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        return ip;
-    }
-
-    /**
-     * Extract user agent from HTTP request
-     */
-    private String extractUserAgent(HttpServletRequest request) {
-        return request.getHeader("User-Agent");
-    }
 }
@@ -2,12 +2,20 @@ package com.pennycontrol.authservice.service.impl;
 
 import com.pennycontrol.authservice.entity.RefreshToken;
 import com.pennycontrol.common.entity.User;
+import com.pennycontrol.authservice.repository.ActiveSessionRepository;
 import com.pennycontrol.authservice.repository.RefreshTokenRepository;
 import com.pennycontrol.authservice.service.RefreshTokenService;
+import com.pennycontrol.authservice.session.UserAgentDictionary;
+import com.pennycontrol.authservice.token.OpaqueRefreshToken;
+import com.pennycontrol.authservice.token.RefreshTokenProperties;
+import com.pennycontrol.common.diagnostics.jfr.RefreshTokenEvent;
+import com.pennycontrol.common.dto.UserPrincipal;
 import com.pennycontrol.common.exception.ErrorCode;
 import com.pennycontrol.common.exception.UnauthorizedException;
 import com.pennycontrol.common.exception.ValidationException;
 import com.pennycontrol.common.security.jwt.JwtProperties;
+import com.pennycontrol.common.security.jwt.JwtTokenProvider;
+import com.pennycontrol.common.util.RequestUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,6 +26,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.HexFormat;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -25,37 +34,59 @@ import java.util.HexFormat;
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final ActiveSessionRepository activeSessionRepository;
     private final JwtProperties jwtProperties;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final UserAgentDictionary userAgentDictionary;
+
+    @Override
+    @Transactional
+    public String issueRefreshToken(User user, UserPrincipal userPrincipal, String ipAddress, String userAgent) {
+        if (refreshTokenProperties.getFormat() == RefreshTokenProperties.Format.JWT) {
+            String token = jwtTokenProvider.generateRefreshToken(userPrincipal);
+            createRefreshToken(user, token, ipAddress, userAgent);
+            return token;
+        }
+
+        RefreshTokenEvent event = new RefreshTokenEvent();
+        event.begin();
+
+        String verifier = OpaqueRefreshToken.newVerifier(refreshTokenProperties.getVerifierBytes());
+
+        RefreshToken refreshToken = newRefreshToken(user, ipAddress, userAgent);
+        refreshToken.setVerifierHash(sha256(verifier));
+
+        // The generated row id becomes the selector
+        RefreshToken saved = insertRefreshToken(refreshToken);
+        log.info("Created opaque refresh token for user ID: {}", user.getId());
+
+        commitEvent(event, RefreshTokenEvent.CREATE, user.getId(), 1);
+
+        return new OpaqueRefreshToken(saved.getId(), verifier).format();
+    }
 
     @Override
     @Transactional
     public RefreshToken createRefreshToken(User user, String token, String ipAddress, String userAgent) {
-        String tokenHash = hashToken(token);
-        LocalDateTime expiresAt = LocalDateTime.now()
-                .plusSeconds(jwtProperties.getRefreshTokenExpiration() / 1000);
+        RefreshTokenEvent event = new RefreshTokenEvent();
+        event.begin();
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .tokenHash(tokenHash)
-                .expiresAt(expiresAt)
-                .ipAddress(ipAddress)
-                .userAgent(userAgent)
-                .isRevoked(false)
-                .usageCount(0)
-                .build();
+        RefreshToken refreshToken = newRefreshToken(user, ipAddress, userAgent);
+        refreshToken.setTokenHash(hashToken(token));
 
-        RefreshToken saved = refreshTokenRepository.save(refreshToken);
+        RefreshToken saved = insertRefreshToken(refreshToken);
         log.info("Created refresh token for user ID: {}", user.getId());
 
+        commitEvent(event, RefreshTokenEvent.CREATE, user.getId(), 1);
+
         return saved;
     }
 
     @Override
     @Transactional(readOnly = true)
     public RefreshToken validateRefreshToken(String token) {
-        String tokenHash = hashToken(token);
-
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+        RefreshToken refreshToken = findStoredToken(token)
                 .orElseThrow(() -> {
                     log.warn("Refresh token not found");
                     return new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Invalid refresh token");
@@ -79,25 +110,35 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     @Transactional
     public void revokeRefreshToken(String token) {
-        String tokenHash = hashToken(token);
+        RefreshTokenEvent event = new RefreshTokenEvent();
+        event.begin();
 
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+        // Opaque tokens come from the persistence context during rotation; legacy JWT-format
+        // tokens run the token_hash query again
+        RefreshToken refreshToken = findStoredToken(token)
                 .orElseThrow(() -> new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Invalid refresh token"));
 
-        refreshToken.setIsRevoked(true);
-        refreshToken.setRevokedAt(LocalDateTime.now());
-
-        refreshTokenRepository.save(refreshToken);
+        // One UPDATE for revocation and usage statistics; the managed entity is left untouched
+        // so dirty checking does not write the row a second time. It only matches a token that is
+        // still active, so of two concurrent rotations of the same token exactly one succeeds
+        int revoked = refreshTokenRepository.revokeOnRotation(refreshToken.getId(), LocalDateTime.now());
+        if (revoked == 0) {
+            log.warn("Refresh token for user ID: {} was already rotated", refreshToken.getUser().getId());
+            throw new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Refresh token has been revoked");
+        }
         log.info("Revoked refresh token for user ID: {} (kept for audit)", refreshToken.getUser().getId());
+
+        commitEvent(event, RefreshTokenEvent.ROTATE, refreshToken.getUser().getId(), 1);
     }
 
     @Override
     @Transactional
     public void deleteRefreshToken(String token, Long userId) {
-        String tokenHash = hashToken(token);
+        RefreshTokenEvent event = new RefreshTokenEvent();
+        event.begin();
 
         // Find the token first to verify ownership
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+        RefreshToken refreshToken = findStoredToken(token)
                 .orElseThrow(() -> {
                     log.warn("Attempted to delete non-existent refresh token");
                     return new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Invalid refresh token");
@@ -113,31 +154,107 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         // Delete the token
         refreshTokenRepository.delete(refreshToken);
         log.info("Deleted refresh token for user ID: {} (single device logout)", userId);
+
+        commitEvent(event, RefreshTokenEvent.REVOKE, userId, 1);
     }
 
     @Override
     @Transactional
     public void deleteAllUserTokens(Long userId) {
+        RefreshTokenEvent event = new RefreshTokenEvent();
+        event.begin();
+
         int deletedCount = refreshTokenRepository.deleteByUserId(userId);
         log.info("Deleted {} refresh tokens for user ID: {} (logout from all devices)", deletedCount, userId);
+
+        commitEvent(event, RefreshTokenEvent.REVOKE, userId, deletedCount);
     }
 
-    @Override
-    @Transactional
-    public void markTokenAsUsed(RefreshToken refreshToken) {
-        refreshToken.setLastUsedAt(LocalDateTime.now());
-        refreshToken.setUsageCount(refreshToken.getUsageCount() + 1);
-        refreshTokenRepository.save(refreshToken);
+    /**
+     * Insert a refresh token and revoke the user's oldest sessions beyond max-active-sessions
+     * in the same statement, serialized per user so concurrent logins cannot exceed the cap
+     */
+    private RefreshToken insertRefreshToken(RefreshToken refreshToken) {
+        // Push pending entity changes (e.g. the revoke of a token being rotated) before the JDBC statement
+        refreshTokenRepository.flush();
+
+        RefreshTokenEvent event = new RefreshTokenEvent();
+        event.begin();
+
+        ActiveSessionRepository.InsertResult result = activeSessionRepository.insertWithSessionCap(
+                refreshToken, refreshTokenProperties.getMaxActiveSessions());
+        refreshToken.setId(result.id());
+
+        if (result.evicted() > 0) {
+            Long userId = refreshToken.getUser().getId();
+            log.info("Revoked {} oldest refresh tokens for user ID: {} (max active sessions: {})",
+                    result.evicted(), userId, refreshTokenProperties.getMaxActiveSessions());
+            commitEvent(event, RefreshTokenEvent.REVOKE, userId, result.evicted());
+        }
+
+        return refreshToken;
+    }
+
+    /**
+     * Build an unsaved refresh token row with lifecycle and session fields set
+     * Session metadata is stored compactly: IP as inet, user agent as a dictionary id
+     */
+    private RefreshToken newRefreshToken(User user, String ipAddress, String userAgent) {
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = issuedAt.plusSeconds(jwtProperties.getRefreshTokenExpiration() / 1000);
+
+        return RefreshToken.builder()
+                .user(user)
+                .issuedAt(issuedAt)
+                .expiresAt(expiresAt)
+                .ipAddress(RequestUtils.parseIpLiteral(ipAddress))
+                .userAgentId(userAgentDictionary.idFor(userAgent))
+                .isRevoked(false)
+                .usageCount(0)
+                .build();
     }
 
     /**
-     * Hash token using SHA-256
+     * Resolve a token string to its stored row
+     * Opaque tokens: primary-key fetch plus constant-time verifier hash compare
+     * JWT tokens: lookup by hash of the whole token (legacy)
+     */
+    private Optional<RefreshToken> findStoredToken(String token) {
+        OpaqueRefreshToken opaque = OpaqueRefreshToken.parse(token);
+        if (opaque == null) {
+            return refreshTokenRepository.findByTokenHash(hashToken(token));
+        }
+
+        byte[] verifierHash = sha256(opaque.verifier());
+        return refreshTokenRepository.findById(opaque.selector())
+                .filter(stored -> stored.getVerifierHash() != null
+                        && MessageDigest.isEqual(stored.getVerifierHash(), verifierHash));
+    }
+
+    /**
+     * Complete and commit a refresh token JFR event
+     */
+    private void commitEvent(RefreshTokenEvent event, String operation, Long userId, int rowsAffected) {
+        event.operation = operation;
+        event.userId = userId != null ? userId : 0L;
+        event.rowsAffected = rowsAffected;
+        event.commit();
+    }
+
+    /**
+     * Hash token using SHA-256 (hex, legacy token_hash column)
      */
     private String hashToken(String token) {
+        return HexFormat.of().formatHex(sha256(token));
+    }
+
+    /**
+     * SHA-256 of the UTF-8 bytes of a value
+     */
+    private byte[] sha256(String value) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
+            return digest.digest(value.getBytes(StandardCharsets.UTF_8));
         } catch (NoSuchAlgorithmException e) {
             log.error("SHA-256 algorithm not available", e);
             throw new ValidationException("Token hashing failed: SHA-256 algorithm not available");
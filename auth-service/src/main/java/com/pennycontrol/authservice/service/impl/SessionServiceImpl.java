@@ -0,0 +1,96 @@
+package com.pennycontrol.authservice.service.impl;
+
+import com.pennycontrol.authservice.dto.response.SessionResponse;
+import com.pennycontrol.authservice.repository.ActiveSessionRepository;
+import com.pennycontrol.authservice.repository.ActiveSessionRepository.ActiveSession;
+import com.pennycontrol.authservice.service.SessionService;
+import com.pennycontrol.authservice.session.UserAgentDictionary;
+import com.pennycontrol.common.dto.CursorPageResponse;
+import com.pennycontrol.common.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionServiceImpl implements SessionService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ActiveSessionRepository activeSessionRepository;
+    private final UserAgentDictionary userAgentDictionary;
+
+    @Override
+    public CursorPageResponse<SessionResponse> listActiveSessions(Long userId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        LocalDateTime cursorIssuedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorIssuedAt = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<ActiveSession> rows = activeSessionRepository.findActiveSessions(userId, cursorIssuedAt, cursorId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ActiveSession> page = hasMore ? rows.subList(0, limit) : rows;
+
+        List<SessionResponse> content = page.stream()
+                .map(this::toResponse)
+                .toList();
+
+        ActiveSession last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageResponse.<SessionResponse>builder()
+                .content(content)
+                .pageSize(content.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .build();
+    }
+
+    private SessionResponse toResponse(ActiveSession session) {
+        return SessionResponse.builder()
+                .sessionId(session.id())
+                .ipAddress(session.ipAddress())
+                .userAgent(userAgentDictionary.valueOf(session.userAgentId()))
+                .issuedAt(session.issuedAt())
+                .lastUsedAt(session.lastUsedAt())
+                .expiresAt(session.expiresAt())
+                .build();
+    }
+
+    /**
+     * Cursor is base64url("{issuedAt}|{id}") of the last row returned
+     */
+    private String encodeCursor(ActiveSession session) {
+        String raw = session.issuedAt() + "|" + session.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new ValidationException("Invalid cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
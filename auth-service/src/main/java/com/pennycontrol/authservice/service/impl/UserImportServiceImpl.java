@@ -0,0 +1,302 @@
+package com.pennycontrol.authservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.authservice.dto.request.UserSignupRequest;
+import com.pennycontrol.authservice.dto.response.UserImportResponse;
+import com.pennycontrol.authservice.importer.StagingCopyWriter;
+import com.pennycontrol.authservice.importer.StagingCopyWriter.StagedUser;
+import com.pennycontrol.authservice.importer.UserImportProperties;
+import com.pennycontrol.authservice.importer.UserImportReader;
+import com.pennycontrol.authservice.importer.UserImportRow;
+import com.pennycontrol.authservice.service.UserImportService;
+import com.pennycontrol.common.exception.BusinessException;
+import com.pennycontrol.common.exception.ErrorCode;
+import com.pennycontrol.common.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import: stream parse -> parallel BCrypt -> COPY into staging -> one merge statement
+ *
+ * Rows flow through a bounded window of hashing futures, so memory stays
+ * constant and input order is preserved. BCrypt dominates the cost; the
+ * database sees one COPY stream and one INSERT ... SELECT per import.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE user_import_staging (
+                line_number     INT NOT NULL,
+                email           TEXT NOT NULL,
+                password_hash   TEXT NOT NULL,
+                name            TEXT,
+                phone_number    TEXT,
+                currency        TEXT
+            ) ON COMMIT DROP
+            """;
+
+    /**
+     * Keeps the first row per email, takes ids in pooled blocks (one nextval per
+     * INCREMENT BY ids, matching the Hibernate allocation), inserts users and
+     * their ROLE_USER grant, and returns every staging row that was not created.
+     * ON CONFLICT DO NOTHING covers emails and phone numbers that already exist.
+     */
+    private static final String MERGE_SQL = """
+            WITH staged AS (
+                SELECT DISTINCT ON (email) line_number, email, password_hash, name, phone_number, currency
+                FROM user_import_staging
+                ORDER BY email, line_number
+            ),
+            numbered AS (
+                SELECT s.*, row_number() OVER (ORDER BY s.line_number) AS rn
+                FROM staged s
+            ),
+            seq AS (
+                SELECT increment_by AS block FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = 'users_id_seq'
+            ),
+            ids AS (
+                SELECT b.base + k AS id, row_number() OVER (ORDER BY b.base, k) AS rn
+                FROM (
+                    SELECT nextval('users_id_seq') AS base
+                    FROM generate_series(1, (SELECT ceil(count(*)::numeric / (SELECT block FROM seq))::int FROM staged))
+                ) b
+                CROSS JOIN generate_series(0, (SELECT block FROM seq) - 1) k
+            ),
+            inserted AS (
+                INSERT INTO users (id, email, password_hash, name, phone_number, currency,
+                                   email_verified, account_locked, enabled, created_at, updated_at)
+                SELECT ids.id, n.email, n.password_hash, n.name, n.phone_number, COALESCE(n.currency, 'USD'),
+                       false, false, true, now(), now()
+                FROM numbered n
+                JOIN ids ON ids.rn = n.rn
+                ON CONFLICT DO NOTHING
+                RETURNING id, email
+            ),
+            granted AS (
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT i.id, r.id
+                FROM inserted i
+                JOIN roles r ON r.name = 'ROLE_USER'
+            )
+            SELECT st.line_number, st.email,
+                   CASE WHEN s.line_number IS NULL THEN 'DUPLICATE_IN_FILE' ELSE 'ALREADY_EXISTS' END AS status
+            FROM user_import_staging st
+            LEFT JOIN staged s ON s.line_number = st.line_number
+            LEFT JOIN inserted i ON i.email = s.email
+            WHERE i.id IS NULL
+            ORDER BY st.line_number
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final ExecutorService hashExecutor;
+    private final int maxInFlight;
+
+    public UserImportServiceImpl(
+            DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            Validator validator,
+            ObjectMapper objectMapper,
+            UserImportProperties properties) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        int threads = properties.getHashThreads() > 0
+                ? properties.getHashThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxInFlight = threads * Math.max(1, properties.getInFlightPerThread());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    @Override
+    @Transactional
+    public UserImportResponse importUsers(InputStream body, UserImportReader.Format format) {
+        long startedAt = System.nanoTime();
+        ImportReport report = new ImportReport(properties.getMaxReportedRows());
+
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+
+        long staged = copyToStaging(body, format, report);
+
+        jdbcTemplate.query(MERGE_SQL, rs -> {
+            report.reject(rs.getInt("line_number"), rs.getString("email"), rs.getString("status"), null);
+        });
+
+        long created = staged - report.duplicates;
+        long durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Bulk import finished: {} rows, {} created, {} duplicates, {} invalid in {} ms",
+                report.totalRows, created, report.duplicates, report.invalid, durationMillis);
+
+        return UserImportResponse.builder()
+                .totalRows(report.totalRows)
+                .created(created)
+                .duplicates(report.duplicates)
+                .invalid(report.invalid)
+                .durationMillis(durationMillis)
+                .rejectedRows(report.rows)
+                .rejectedRowsTruncated(report.truncated)
+                .build();
+    }
+
+    /**
+     * Parse, validate and hash rows, streaming them into the staging table
+     *
+     * @return number of rows copied
+     */
+    private long copyToStaging(InputStream body, UserImportReader.Format format, ImportReport report) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        Deque<Future<StagedUser>> window = new ArrayDeque<>();
+
+        try (StagingCopyWriter writer = new StagingCopyWriter(connection.unwrap(PGConnection.class).getCopyAPI())) {
+            UserImportReader reader = UserImportReader.open(format, body, objectMapper);
+
+            UserImportRow row;
+            while ((row = reader.next()) != null) {
+                if (++report.totalRows > properties.getMaxRows()) {
+                    throw new ValidationException("Import exceeds the maximum of " + properties.getMaxRows() + " rows");
+                }
+
+                String problem = row.error() != null ? row.error() : validate(row.request());
+                if (problem != null) {
+                    report.invalid++;
+                    report.reject(row.lineNumber(), row.request() != null ? row.request().getEmail() : null,
+                            UserImportResponse.RowResult.INVALID, problem);
+                    continue;
+                }
+
+                UserImportRow accepted = row;
+                window.addLast(hashExecutor.submit(() -> stage(accepted)));
+                if (window.size() >= maxInFlight) {
+                    writer.write(await(window.removeFirst()));
+                }
+            }
+
+            while (!window.isEmpty()) {
+                writer.write(await(window.removeFirst()));
+            }
+            return writer.finish();
+        } catch (IOException ex) {
+            throw new ValidationException("Could not read import body: " + ex.getMessage());
+        } catch (SQLException ex) {
+            throw new BusinessException(ErrorCode.DATABASE_ERROR, "Bulk import failed while copying rows", ex);
+        } finally {
+            window.forEach(future -> future.cancel(true));
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Normalize like signup and hash the password (runs on the hashing pool)
+     */
+    private StagedUser stage(UserImportRow row) {
+        UserSignupRequest request = row.request();
+        return new StagedUser(
+                row.lineNumber(),
+                request.getEmail().toLowerCase(Locale.ROOT).trim(),
+                passwordEncoder.encode(request.getPassword()),
+                request.getName() != null ? request.getName().trim() : null,
+                request.getPhoneNumber() != null ? request.getPhoneNumber().trim() : null,
+                request.getCurrency() != null ? request.getCurrency().toUpperCase(Locale.ROOT) : null);
+    }
+
+    private String validate(UserSignupRequest request) {
+        var violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private StagedUser await(Future<StagedUser> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Bulk import interrupted");
+        } catch (ExecutionException ex) {
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "Password hashing failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Mutable per-import tallies and the capped list of rejected rows
+     */
+    private static final class ImportReport {
+        private final int maxRows;
+        private final List<UserImportResponse.RowResult> rows = new ArrayList<>();
+        private long totalRows;
+        private long invalid;
+        private long duplicates;
+        private boolean truncated;
+
+        private ImportReport(int maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        private void reject(int lineNumber, String email, String status, String reason) {
+            if (!UserImportResponse.RowResult.INVALID.equals(status)) {
+                duplicates++;
+            }
+            if (rows.size() >= maxRows) {
+                truncated = true;
+                return;
+            }
+            rows.add(UserImportResponse.RowResult.builder()
+                    .lineNumber(lineNumber)
+                    .email(email)
+                    .status(status)
+                    .reason(reason)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.pennycontrol.authservice.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps user agent strings to user_agents ids and back
+ *
+ * A few hundred distinct strings cover almost all sessions, so both
+ * directions are cached in memory and the database is only consulted for
+ * strings not seen since startup. New entries are inserted in the caller's
+ * transaction (no second pooled connection) and only cached once it
+ * commits, so a cached id never points at a rolled-back row.
+ */
+@Slf4j
+@Component
+public class UserAgentDictionary {
+
+    /**
+     * Longer headers are truncated before encoding
+     */
+    static final int MAX_USER_AGENT_LENGTH = 512;
+
+    private static final int MAX_CACHED_ENTRIES = 10_000;
+
+    private static final String FIND_BY_HASH_SQL = "SELECT id FROM user_agents WHERE ua_hash = ?";
+
+    // DO NOTHING leaves no dead tuple; a conflicting concurrent insert is re-read with FIND_BY_HASH_SQL
+    private static final String INSERT_SQL = """
+            INSERT INTO user_agents (ua_hash, user_agent)
+            VALUES (?, ?)
+            ON CONFLICT (ua_hash) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String FIND_BY_ID_SQL = "SELECT user_agent FROM user_agents WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> idsByValue = new ConcurrentHashMap<>();
+    private final Map<Integer, String> valuesById = new ConcurrentHashMap<>();
+
+    public UserAgentDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Dictionary id for a user agent, inserting it on first sight
+     * A new row is written in the current transaction and cached after commit
+     *
+     * @return id, or null if the user agent is absent
+     */
+    public Integer idFor(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return null;
+        }
+        String value = userAgent.length() > MAX_USER_AGENT_LENGTH
+                ? userAgent.substring(0, MAX_USER_AGENT_LENGTH)
+                : userAgent;
+
+        Integer cached = idsByValue.get(value);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] hash = sha256(value);
+        Integer existing = findByHash(hash);
+        if (existing != null) {
+            cache(existing, value);
+            return existing;
+        }
+
+        List<Integer> inserted = jdbcTemplate.queryForList(INSERT_SQL, Integer.class, hash, value);
+        if (inserted.isEmpty()) {
+            // Lost the race to a concurrent insert, which has committed by the time ON CONFLICT returns
+            Integer id = findByHash(hash);
+            cache(id, value);
+            return id;
+        }
+
+        Integer id = inserted.get(0);
+        cacheAfterCommit(id, value);
+        return id;
+    }
+
+    /**
+     * User agent string for a dictionary id
+     *
+     * @return the string, or null if the id is null or unknown
+     */
+    public String valueOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+
+        String cached = valuesById.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<String> values = jdbcTemplate.queryForList(FIND_BY_ID_SQL, String.class, id);
+        if (values.isEmpty()) {
+            return null;
+        }
+        cache(id, values.get(0));
+        return values.get(0);
+    }
+
+    private Integer findByHash(byte[] hash) {
+        List<Integer> ids = jdbcTemplate.queryForList(FIND_BY_HASH_SQL, Integer.class, (Object) hash);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private void cacheAfterCommit(Integer id, String value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(id, value);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(id, value);
+            }
+        });
+    }
+
+    private void cache(Integer id, String value) {
+        // Bounded: unusual strings beyond the limit are simply looked up again
+        if (id != null && idsByValue.size() < MAX_CACHED_ENTRIES) {
+            idsByValue.putIfAbsent(value, id);
+            valuesById.putIfAbsent(id, value);
+        }
+    }
+
+    private byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.pennycontrol.authservice.token;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Opaque refresh token: "{selector}.{verifier}"
+ *
+ * The selector is the refresh_tokens row id and addresses the row by primary
+ * key. The verifier is random and only its SHA-256 hash is stored. Unlike a
+ * JWT the token carries no claims, so the server never parses it beyond the
+ * split.
+ */
+public record OpaqueRefreshToken(long selector, String verifier) {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Create a new random verifier
+     */
+    public static String newVerifier(int bytes) {
+        byte[] random = new byte[bytes];
+        RANDOM.nextBytes(random);
+        return ENCODER.encodeToString(random);
+    }
+
+    /**
+     * Parse a token string, or return null if it is not in opaque format
+     * (legacy JWT refresh tokens contain two dots and a non-numeric prefix)
+     */
+    public static OpaqueRefreshToken parse(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator > 19 || separator == token.length() - 1
+                || token.indexOf('.', separator + 1) >= 0) {
+            return null;
+        }
+        for (int i = 0; i < separator; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        try {
+            return new OpaqueRefreshToken(Long.parseLong(token, 0, separator, 10), token.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Wire representation
+     */
+    public String format() {
+        return selector + "." + verifier;
+    }
+
+    @Override
+    public String toString() {
+        // Never log the verifier
+        return "OpaqueRefreshToken[selector=" + selector + "]";
+    }
+}
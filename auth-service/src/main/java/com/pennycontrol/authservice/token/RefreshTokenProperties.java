@@ -0,0 +1,38 @@
+package com.pennycontrol.authservice.token;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "refresh-token")
+public class RefreshTokenProperties {
+
+    /**
+     * Format of newly issued refresh tokens; both formats are accepted on use
+     */
+    private Format format = Format.OPAQUE;
+
+    /**
+     * Random bytes in the verifier part of opaque tokens
+     */
+    private int verifierBytes = 32;
+
+    /**
+     * Active refresh tokens allowed per user; the oldest are revoked beyond it (0 disables the cap)
+     */
+    private int maxActiveSessions = 10;
+
+    public enum Format {
+        /**
+         * "{id}.{verifier}" - primary-key lookup, verifier hash compared in constant time
+         */
+        OPAQUE,
+
+        /**
+         * Signed JWT looked up by the hash of the whole token (legacy)
+         */
+        JWT
+    }
+}
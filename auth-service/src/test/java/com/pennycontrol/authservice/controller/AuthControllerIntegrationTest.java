@@ -0,0 +1,172 @@
+package com.pennycontrol.authservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.diagnostics.DiagnosticsProperties;
+import com.pennycontrol.common.diagnostics.sql.StatementCountRegistry;
+import com.pennycontrol.common.test.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.pennycontrol.common.diagnostics.sql.StatementCountAssertions.assertWithinBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs every budgeted auth endpoint against a migrated Postgres and fails
+ * when one executes more statements than diagnostics.statement-budgets allows
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerIntegrationTest {
+
+    private static final String PASSWORD = "Sup3r$ecret";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StatementCountRegistry statementCountRegistry;
+
+    @Autowired
+    private DiagnosticsProperties diagnosticsProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        statementCountRegistry.reset();
+    }
+
+    @Test
+    void everyBudgetedEndpointStaysWithinItsStatementBudget() throws Exception {
+        String email = registerNewUser();
+
+        JsonNode firstLogin = postJson("/api/v1/auth/login", Map.of("email", email, "password", PASSWORD));
+        JsonNode refreshed = postJson("/api/v1/auth/refresh",
+                Map.of("refreshToken", firstLogin.path("refreshToken").asText()));
+
+        mockMvc.perform(delete("/api/v1/auth/logout-device")
+                        .header("Authorization", "Bearer " + refreshed.path("accessToken").asText())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("refreshToken", refreshed.path("refreshToken").asText()))))
+                .andExpect(status().isOk());
+
+        JsonNode secondLogin = postJson("/api/v1/auth/login", Map.of("email", email, "password", PASSWORD));
+        mockMvc.perform(delete("/api/v1/auth/logout")
+                        .header("Authorization", "Bearer " + secondLogin.path("accessToken").asText()))
+                .andExpect(status().isOk());
+
+        for (String endpoint : diagnosticsProperties.getStatementBudgets().keySet()) {
+            assertWithinBudget(statementCountRegistry, diagnosticsProperties, endpoint);
+        }
+    }
+
+    @Test
+    void refreshRevokesRotatedTokenAndRecordsItsUse() throws Exception {
+        String email = registerNewUser();
+        JsonNode login = postJson("/api/v1/auth/login", Map.of("email", email, "password", PASSWORD));
+        String rotated = login.path("refreshToken").asText();
+
+        postJson("/api/v1/auth/refresh", Map.of("refreshToken", rotated));
+
+        // Opaque format "{id}.{verifier}"
+        long tokenId = Long.parseLong(rotated.substring(0, rotated.indexOf('.')));
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT is_revoked, revoked_at, last_used_at, usage_count FROM refresh_tokens WHERE id = ?", tokenId);
+        assertThat(row.get("is_revoked")).isEqualTo(true);
+        assertThat(row.get("revoked_at")).isNotNull();
+        assertThat(row.get("last_used_at")).isEqualTo(row.get("revoked_at"));
+        assertThat(row.get("usage_count")).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRefreshesOfOneTokenRotateItOnce() throws Exception {
+        String email = registerNewUser();
+        JsonNode login = postJson("/api/v1/auth/login", Map.of("email", email, "password", PASSWORD));
+        String body = objectMapper.writeValueAsString(Map.of("refreshToken", login.path("refreshToken").asText()));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/v1/auth/refresh")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> status : statuses) {
+                results.add(status.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(results).containsExactlyInAnyOrder(200, 401);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String registerNewUser() throws Exception {
+        String email = "budget-" + UUID.randomUUID() + "@example.com";
+        postJson("/api/v1/auth/register", Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "name", "Budget Check",
+                "phoneNumber", "+1555" + (1_000_000 + System.nanoTime() % 9_000_000),
+                "currency", "EUR"));
+        return email;
+    }
+
+    /**
+     * POST a JSON body and return the "data" of the ApiResponse
+     */
+    private JsonNode postJson(String path, Map<String, String> body) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andReturn();
+        int status = result.getResponse().getStatus();
+        if (status / 100 != 2) {
+            throw new AssertionError(path + " returned " + status + ": " + result.getResponse().getContentAsString());
+        }
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data");
+    }
+}
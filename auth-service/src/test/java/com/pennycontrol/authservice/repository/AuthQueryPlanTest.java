@@ -0,0 +1,199 @@
+package com.pennycontrol.authservice.repository;
+
+import com.pennycontrol.common.test.PostgresTestDatabase;
+import com.pennycontrol.common.test.plan.CapturedStatement;
+import com.pennycontrol.common.test.plan.PlanExpectation;
+import com.pennycontrol.common.test.plan.QueryCapture;
+import com.pennycontrol.common.test.plan.QueryPlanDataset;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static com.pennycontrol.common.test.plan.QueryPlanAssertions.assertPlan;
+
+/**
+ * Access paths of the hot auth-service repository queries on a seeded database
+ *
+ * Each test calls the real repository method and checks the plan of the SQL
+ * it executed, so a mapping or migration change is covered without editing
+ * the test. DELETEs run in a transaction that is rolled back. Run by the
+ * checkQueryPlans task.
+ *
+ * deleteOldRevokedTokens is deliberately absent: no index covers revoked_at,
+ * so asserting its current plan would only pin a sequential scan. Lookups on
+ * roles and user_agents are absent too; those tables are small enough that a
+ * sequential scan is the right plan.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(QueryCapture.class)
+@Tag("query-plan")
+class AuthQueryPlanTest {
+
+    private static final Set<String> EMAIL_INDEXES = Set.of("users_email_key", "idx_users_email");
+    private static final Set<String> PHONE_INDEXES = Set.of("users_phone_number_key", "idx_users_phone_number");
+    private static final Set<String> TOKEN_HASH_INDEXES = Set.of("idx_refresh_tokens_legacy_token_hash");
+
+    // No seeded token has this hash, as for a forged or long-deleted token
+    private static final String UNKNOWN_TOKEN_HASH =
+            "0000000000000000000000000000000000000000000000000000000000000000";
+
+    private static LocalDateTime now;
+
+    @Autowired
+    private QueryCapture queryCapture;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ActiveSessionRepository activeSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeAll
+    static void seed() throws Exception {
+        now = QueryPlanDataset.seed();
+    }
+
+    @Test
+    void findByEmailUsesEmailIndex() {
+        String email = someEmail();
+        CapturedStatement statement = queryCapture.captureFirst("from users",
+                () -> userRepository.findByEmail(email));
+
+        assertPlan(dataSource, statement, new PlanExpectation(EMAIL_INDEXES, Set.of("users"), 1));
+    }
+
+    @Test
+    void eagerRolesFetchUsesUserRolesIndex() {
+        String email = someEmail();
+        CapturedStatement statement = queryCapture.captureFirst("from user_roles",
+                () -> userRepository.findByEmail(email));
+
+        assertPlan(dataSource, statement, new PlanExpectation(
+                Set.of("user_roles_pkey", "idx_user_roles_user_id"), Set.of("user_roles"), 10));
+    }
+
+    @Test
+    void existsByEmailUsesEmailIndex() {
+        String email = someEmail();
+        CapturedStatement statement = queryCapture.captureFirst("from users",
+                () -> userRepository.existsByEmail(email));
+
+        assertPlan(dataSource, statement, new PlanExpectation(EMAIL_INDEXES, Set.of("users"), 1));
+    }
+
+    @Test
+    void existsByPhoneNumberUsesPhoneIndex() {
+        String phoneNumber = jdbcTemplate.queryForObject(
+                "SELECT phone_number FROM users WHERE phone_number IS NOT NULL ORDER BY id OFFSET 100 LIMIT 1",
+                String.class);
+        CapturedStatement statement = queryCapture.captureFirst("from users",
+                () -> userRepository.existsByPhoneNumber(phoneNumber));
+
+        assertPlan(dataSource, statement, new PlanExpectation(PHONE_INDEXES, Set.of("users"), 1));
+    }
+
+    @Test
+    void refreshTokenFindByIdUsesPrimaryKey() {
+        long id = jdbcTemplate.queryForObject(
+                "SELECT id FROM refresh_tokens ORDER BY id OFFSET 1000 LIMIT 1", Long.class);
+        CapturedStatement statement = queryCapture.captureFirst("from refresh_tokens",
+                () -> refreshTokenRepository.findById(id));
+
+        assertPlan(dataSource, statement, new PlanExpectation(
+                Set.of("refresh_tokens_pkey"), Set.of("refresh_tokens"), 1));
+    }
+
+    @Test
+    void findByTokenHashUsesLegacyHashIndex() {
+        CapturedStatement statement = queryCapture.captureFirst("from refresh_tokens",
+                () -> refreshTokenRepository.findByTokenHash(UNKNOWN_TOKEN_HASH));
+
+        assertPlan(dataSource, statement, new PlanExpectation(TOKEN_HASH_INDEXES, Set.of("refresh_tokens"), 1));
+    }
+
+    @Test
+    void deleteByTokenHashUsesLegacyHashIndex() {
+        CapturedStatement statement = captureRolledBack("delete from refresh_tokens",
+                () -> refreshTokenRepository.deleteByTokenHash(UNKNOWN_TOKEN_HASH));
+
+        assertPlan(dataSource, statement, new PlanExpectation(TOKEN_HASH_INDEXES, Set.of("refresh_tokens"), 1));
+    }
+
+    @Test
+    void deleteByUserIdUsesUserIndex() {
+        long userId = userWithSessions();
+        CapturedStatement statement = captureRolledBack("delete from refresh_tokens",
+                () -> refreshTokenRepository.deleteByUserId(userId));
+
+        assertPlan(dataSource, statement, new PlanExpectation(
+                Set.of("idx_refresh_tokens_user_id"), Set.of("refresh_tokens"), 1_000));
+    }
+
+    @Test
+    void deleteExpiredTokensUsesExpiryIndex() {
+        // The dataset models daily cleanup: about one day of expiries is pending
+        CapturedStatement statement = captureRolledBack("delete from refresh_tokens",
+                () -> refreshTokenRepository.deleteExpiredTokens(now));
+
+        assertPlan(dataSource, statement, new PlanExpectation(
+                Set.of("idx_refresh_tokens_expires_at"), Set.of("refresh_tokens"), 50_000));
+    }
+
+    @Test
+    void findActiveSessionsUsesActiveSessionsIndex() {
+        long userId = userWithSessions();
+        CapturedStatement statement = queryCapture.captureFirst("from refresh_tokens",
+                () -> activeSessionRepository.findActiveSessions(userId, null, null, 20));
+
+        assertPlan(dataSource, statement, new PlanExpectation(
+                Set.of("idx_refresh_tokens_active_sessions"), Set.of("refresh_tokens"), 100));
+    }
+
+    /**
+     * Capture a modifying repository call without keeping its effect on the seeded data
+     */
+    private CapturedStatement captureRolledBack(String sqlFragment, Runnable action) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return queryCapture.captureFirst(sqlFragment, action);
+        });
+    }
+
+    private String someEmail() {
+        return jdbcTemplate.queryForObject("SELECT email FROM users ORDER BY id OFFSET 1000 LIMIT 1", String.class);
+    }
+
+    private long userWithSessions() {
+        return jdbcTemplate.queryForObject("SELECT user_id FROM refresh_tokens ORDER BY id LIMIT 1", Long.class);
+    }
+}
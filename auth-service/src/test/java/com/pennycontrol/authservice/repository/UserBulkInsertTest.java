@@ -0,0 +1,77 @@
+package com.pennycontrol.authservice.repository;
+
+import com.pennycontrol.common.entity.User;
+import com.pennycontrol.common.test.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.pennycontrol.common.diagnostics.sql.StatementCountAssertions.countStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips of a bulk User insert with pooled-lo ids and JDBC batching
+ *
+ * With IDENTITY ids every row is its own INSERT, so N users cost N round
+ * trips. With sequence blocks of 50 and hibernate.jdbc.batch_size 50 they cost
+ * one nextval() and one (rewritten multi-row) INSERT per 50 users.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserBulkInsertTest {
+
+    private static final int USERS = 1_000;
+
+    /** allocationSize of users_seq on User */
+    private static final int ID_BLOCK = 50;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void bulkInsertCostsOneRoundTripPerBatchInsteadOfPerRow() {
+        List<User> users = new ArrayList<>(USERS);
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .email("bulk-" + run + "-" + i + "@example.com")
+                    .passwordHash("not-a-bcrypt-hash")
+                    .name("Bulk User " + i)
+                    .build());
+        }
+
+        long statements = countStatements(() ->
+                transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users)));
+
+        long sequenceCalls = ceilDiv(USERS, ID_BLOCK);
+        long insertBatches = ceilDiv(USERS, batchSize);
+        assertThat(statements)
+                .as("round trips for %d users (one INSERT per row would be %d)", USERS, USERS)
+                .isEqualTo(sequenceCalls + insertBatches);
+        assertThat(users).allSatisfy(user -> assertThat(user.getId()).isNotNull());
+    }
+
+    private static long ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
@@ -0,0 +1,52 @@
+package com.pennycontrol.common.annotation;
+
+import com.pennycontrol.common.config.DiagnosticsConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable Diagnostics features including:
+ * - In-process streaming of custom JFR events
+ * - Latency histograms per operation
+ * - Per-request SQL statement counting with per-endpoint budgets
+ * - Index usage, duplication and bloat recommendations
+ * - Admin diagnostics endpoints
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @SpringBootApplication
+ * @EnableDiagnostics
+ * public class MyApplication {
+ *     public static void main(String[] args) {
+ *         SpringApplication.run(MyApplication.class, args);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Configuration in application.yml:
+ * <pre>
+ * diagnostics:
+ *   jfr-streaming-enabled: true
+ *   statement-budgets:
+ *     "[GET /api/v1/users/me]": 2
+ *   index-advisor:
+ *     tables: [users, roles, user_roles, refresh_tokens]
+ *     bloat-ratio: 0.3
+ * </pre>
+ *
+ * This will automatically configure:
+ * - JfrEventAggregator bean
+ * - StatementCountFilter and JDBC statement counting (datasource-proxy)
+ * - GET /api/v1/admin/diagnostics/events (ROLE_ADMIN only)
+ * - GET /api/v1/admin/diagnostics/statements (ROLE_ADMIN only)
+ * - GET /api/v1/admin/diagnostics/indexes (ROLE_ADMIN only)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(DiagnosticsConfiguration.class)
+public @interface EnableDiagnostics {
+}
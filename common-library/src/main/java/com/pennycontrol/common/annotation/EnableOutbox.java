@@ -0,0 +1,47 @@
+package com.pennycontrol.common.annotation;
+
+import com.pennycontrol.common.config.OutboxConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable the transactional outbox for change events:
+ * - OutboxPublisher writes events in the same transaction as the change
+ * - OutboxRelay delivers committed events at least once, in commit order per aggregate
+ * - Pluggable OutboxSink beans (in-process application events, NDJSON file)
+ * - Retries with exponential backoff and retention cleanup of published events
+ *
+ * Requires the outbox table (db-migrator migration V9). Relays in several
+ * instances share the work via FOR UPDATE SKIP LOCKED.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @SpringBootApplication
+ * @EnableOutbox
+ * public class MyApplication {
+ *     public static void main(String[] args) {
+ *         SpringApplication.run(MyApplication.class, args);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Configuration in application.yml:
+ * <pre>
+ * outbox:
+ *   relay-enabled: true
+ *   poll-interval: 1s
+ *   batch-size: 100
+ *   max-backoff: 5m
+ *   retention: 7d
+ *   file-sink-path: build/outbox-events.ndjson
+ * </pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(OutboxConfiguration.class)
+public @interface EnableOutbox {
+}
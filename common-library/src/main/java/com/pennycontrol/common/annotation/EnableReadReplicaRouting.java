@@ -0,0 +1,46 @@
+package com.pennycontrol.common.annotation;
+
+import com.pennycontrol.common.config.ReadReplicaRoutingConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable routing of read-only transactions to a Postgres streaming replica:
+ * - @Transactional(readOnly = true) work goes to the replica pool, everything else to the primary
+ * - Replica is skipped while its replay lag exceeds max-replica-lag or it is unreachable
+ * - Users who just committed a write keep reading from the primary for sticky-window
+ *
+ * Has no effect unless datasource-routing.enabled is true.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @SpringBootApplication
+ * @EnableReadReplicaRouting
+ * public class MyApplication {
+ *     public static void main(String[] args) {
+ *         SpringApplication.run(MyApplication.class, args);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Configuration in application.yml:
+ * <pre>
+ * datasource-routing:
+ *   enabled: true
+ *   max-replica-lag: 5s
+ *   lag-check-interval: 2s
+ *   sticky-window: 5s
+ *   replica:
+ *     url: jdbc:postgresql://replica:5432/penny_control
+ *     maximum-pool-size: 10
+ * </pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(ReadReplicaRoutingConfiguration.class)
+public @interface EnableReadReplicaRouting {
+}
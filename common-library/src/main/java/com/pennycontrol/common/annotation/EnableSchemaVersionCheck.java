@@ -0,0 +1,38 @@
+package com.pennycontrol.common.annotation;
+
+import com.pennycontrol.common.config.SchemaVersionConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable a startup check that the database schema is at least the version this build needs.
+ *
+ * Migrations are applied by the db-migrator job, not by the services; the check
+ * is a single query on the Flyway history table.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @SpringBootApplication
+ * @EnableSchemaVersionCheck
+ * public class MyApplication {
+ *     public static void main(String[] args) {
+ *         SpringApplication.run(MyApplication.class, args);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Configuration in application.yml:
+ * <pre>
+ * schema-version:
+ *   required: "8"
+ * </pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(SchemaVersionConfiguration.class)
+public @interface EnableSchemaVersionCheck {
+}
@@ -0,0 +1,43 @@
+package com.pennycontrol.common.annotation;
+
+import com.pennycontrol.common.config.TokenRevocationConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable access token revocation via per-user valid-after epochs:
+ * - In-memory epoch registry checked by JwtAuthenticationFilter (no DB hit per request)
+ * - Postgres LISTEN/NOTIFY subscriber with periodic delta sync
+ * - TokenRevocationService for revoking all tokens of a user
+ *
+ * Requires @EnableJwt and the user_token_epochs table (db-migrator migration V4).
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @SpringBootApplication
+ * @EnableJwt
+ * @EnableTokenRevocation
+ * public class MyApplication {
+ *     public static void main(String[] args) {
+ *         SpringApplication.run(MyApplication.class, args);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Configuration in application.yml:
+ * <pre>
+ * token-revocation:
+ *   channel: token_epochs
+ *   sync-interval: 30s
+ *   reconnect-delay: 5s
+ * </pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(TokenRevocationConfiguration.class)
+public @interface EnableTokenRevocation {
+}
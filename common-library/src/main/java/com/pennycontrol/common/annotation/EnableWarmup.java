@@ -0,0 +1,47 @@
+package com.pennycontrol.common.annotation;
+
+import com.pennycontrol.common.config.WarmupConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enable a JIT warmup phase that runs before the readiness probe reports ready:
+ * - JWT sign and verify, ApiResponse serialization, password encoder
+ * - Configured read queries as prepared statements
+ * - Any WarmupTask beans declared by the service
+ *
+ * Requires @EnableJwt and @EnableSecurity.
+ *
+ * Usage:
+ * <pre>
+ * {@code
+ * @SpringBootApplication
+ * @EnableJwt
+ * @EnableSecurity
+ * @EnableWarmup
+ * public class MyApplication {
+ *     public static void main(String[] args) {
+ *         SpringApplication.run(MyApplication.class, args);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Configuration in application.yml:
+ * <pre>
+ * warmup:
+ *   enabled: true
+ *   iterations: 2000
+ *   time-budget: 20s
+ *   password-iterations: 10
+ *   queries:
+ *     - SELECT id, email FROM users ORDER BY id LIMIT 20
+ * </pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(WarmupConfiguration.class)
+public @interface EnableWarmup {
+}
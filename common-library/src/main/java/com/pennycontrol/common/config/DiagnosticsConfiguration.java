@@ -0,0 +1,105 @@
+package com.pennycontrol.common.config;
+
+import com.pennycontrol.common.diagnostics.DiagnosticsController;
+import com.pennycontrol.common.diagnostics.DiagnosticsProperties;
+import com.pennycontrol.common.diagnostics.index.IndexAdvisor;
+import com.pennycontrol.common.diagnostics.jfr.JfrEventAggregator;
+import com.pennycontrol.common.diagnostics.sql.StatementCountFilter;
+import com.pennycontrol.common.diagnostics.sql.StatementCountRegistry;
+import com.pennycontrol.common.diagnostics.sql.StatementCountingDataSourcePostProcessor;
+import com.pennycontrol.common.diagnostics.sql.StatementCountingRuntimeHints;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Diagnostics Configuration
+ *
+ * This configuration is automatically imported when @EnableDiagnostics is used.
+ *
+ * Provides:
+ * - JfrEventAggregator: Streams custom JFR events into in-memory histograms
+ * - StatementCountingDataSourcePostProcessor: Counts JDBC statements per request at the DataSource
+ * - StatementCountFilter: Records statement counts per endpoint and checks budgets
+ * - IndexAdvisor: Flags unused, duplicate and bloated indexes and heavy sequential scans
+ * - DiagnosticsController: Admin endpoints exposing the collected diagnostics
+ */
+@Configuration
+@EnableConfigurationProperties(DiagnosticsProperties.class)
+@ImportRuntimeHints(StatementCountingRuntimeHints.class)
+public class DiagnosticsConfiguration {
+
+    /**
+     * JFR Event Aggregator bean
+     * Consumes custom JFR events in-process via event streaming
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JfrEventAggregator jfrEventAggregator(DiagnosticsProperties diagnosticsProperties) {
+        return new JfrEventAggregator(diagnosticsProperties);
+    }
+
+    /**
+     * Statement Count Registry bean
+     * Holds per-endpoint SQL statement statistics
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public StatementCountRegistry statementCountRegistry() {
+        return new StatementCountRegistry();
+    }
+
+    /**
+     * Statement counting DataSource wrapper
+     * Static so the DataSource is wrapped before anything obtains it
+     */
+    @Bean
+    public static StatementCountingDataSourcePostProcessor statementCountingDataSourcePostProcessor(
+            ObjectProvider<QueryExecutionListener> queryExecutionListeners) {
+        return new StatementCountingDataSourcePostProcessor(queryExecutionListeners);
+    }
+
+    /**
+     * Statement Count Filter registration
+     * Runs first so the count covers the whole filter chain
+     */
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+            StatementCountRegistry statementCountRegistry,
+            DiagnosticsProperties diagnosticsProperties) {
+        FilterRegistrationBean<StatementCountFilter> registration = new FilterRegistrationBean<>(
+                new StatementCountFilter(statementCountRegistry, diagnosticsProperties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Index Advisor bean
+     * Reads index and table statistics on demand
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public IndexAdvisor indexAdvisor(JdbcTemplate jdbcTemplate, DiagnosticsProperties diagnosticsProperties) {
+        return new IndexAdvisor(jdbcTemplate, diagnosticsProperties);
+    }
+
+    /**
+     * Diagnostics Controller bean
+     * Exposes admin-only diagnostics endpoints
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DiagnosticsController diagnosticsController(
+            JfrEventAggregator jfrEventAggregator,
+            StatementCountRegistry statementCountRegistry,
+            IndexAdvisor indexAdvisor) {
+        return new DiagnosticsController(jfrEventAggregator, statementCountRegistry, indexAdvisor);
+    }
+}
@@ -3,7 +3,11 @@ package com.pennycontrol.common.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pennycontrol.common.dto.ApiResponse;
+import com.pennycontrol.common.dto.CursorPageResponse;
+import com.pennycontrol.common.dto.PageResponse;
 import com.pennycontrol.common.exception.handler.GlobalExceptionHandler;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,8 +17,18 @@ import org.springframework.context.annotation.Configuration;
  *
  * This configuration registers the GlobalExceptionHandler as a Spring bean,
  * enabling centralized exception handling across the application.
+ *
+ * The shared response envelope is also serialized outside controller return
+ * types (filters, exception handlers), so it is registered for native images here.
  */
 @Configuration
+@RegisterReflectionForBinding({
+        ApiResponse.class,
+        ApiResponse.ErrorDetails.class,
+        ApiResponse.ValidationError.class,
+        PageResponse.class,
+        CursorPageResponse.class
+})
 public class ExceptionHandlingConfiguration {
 
     @Bean
@@ -1,16 +1,22 @@
 package com.pennycontrol.common.config;
 
+import com.pennycontrol.common.exception.handler.ErrorResponseWriter;
+import com.pennycontrol.common.security.jwt.JjwtRuntimeHints;
 import com.pennycontrol.common.security.jwt.JwtAuthenticationEntryPoint;
 import com.pennycontrol.common.security.jwt.SecurityLoggingFilter;
 import com.pennycontrol.common.security.jwt.ExceptionHandlerFilter;
 import com.pennycontrol.common.security.jwt.JwtAuthenticationFilter;
 import com.pennycontrol.common.security.jwt.JwtProperties;
 import com.pennycontrol.common.security.jwt.JwtTokenProvider;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.security.jwt.RejectedTokenCache;
+import com.pennycontrol.common.security.jwt.TokenRejectionMonitor;
+import com.pennycontrol.common.security.revocation.TokenRevocationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * JWT Security Configuration
@@ -20,12 +26,18 @@ import org.springframework.context.annotation.Configuration;
  * Provides:
  * - JwtTokenProvider: For generating and validating JWT tokens
  * - JwtAuthenticationFilter: For extracting and validating JWT from requests
+ *   (also checks revocation epochs when @EnableTokenRevocation is present)
+ * - RejectedTokenCache: Negative cache of recently rejected tokens
+ * - TokenRejectionMonitor: Per-source rejection counters and rate-limited logging
  * - ExceptionHandlerFilter: For handling exceptions in filter chain
  * - JwtAuthenticationEntryPoint: For handling 401 unauthorized responses
+ * - ErrorResponseWriter: For writing pre-encoded JSON error bodies from filters
  * - SecurityLoggingFilter: For logging authenticated vs public endpoints
  * - JwtProperties: Configuration properties from application.yml
+ * - JjwtRuntimeHints: Reflection metadata for jjwt in native images
  */
 @Configuration
+@ImportRuntimeHints(JjwtRuntimeHints.class)
 @EnableConfigurationProperties(JwtProperties.class)
 public class JwtConfiguration {
 
@@ -41,6 +53,30 @@ public class JwtConfiguration {
         return new JwtTokenProvider(jwtProperties);
     }
 
+    /**
+     * Rejected Token Cache bean
+     * Short-circuits bearer tokens that were rejected moments ago
+     *
+     * @ConditionalOnMissingBean allows services to override with custom cache
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RejectedTokenCache rejectedTokenCache(JwtProperties jwtProperties) {
+        return new RejectedTokenCache(jwtProperties.getRejection());
+    }
+
+    /**
+     * Token Rejection Monitor bean
+     * Counts rejections per source and deduplicates rejection logging
+     *
+     * @ConditionalOnMissingBean allows services to override with custom monitor
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenRejectionMonitor tokenRejectionMonitor(JwtProperties jwtProperties) {
+        return new TokenRejectionMonitor(jwtProperties.getRejection());
+    }
+
     /**
      * JWT Authentication Filter bean
      * Intercepts requests and validates JWT tokens
@@ -51,8 +87,24 @@ public class JwtConfiguration {
     @ConditionalOnMissingBean
     public JwtAuthenticationFilter jwtAuthenticationFilter(
             JwtTokenProvider jwtTokenProvider,
-            JwtProperties jwtProperties) {
-        return new JwtAuthenticationFilter(jwtTokenProvider, jwtProperties);
+            JwtProperties jwtProperties,
+            RejectedTokenCache rejectedTokenCache,
+            TokenRejectionMonitor tokenRejectionMonitor,
+            ObjectProvider<TokenRevocationRegistry> tokenRevocationRegistry) {
+        return new JwtAuthenticationFilter(jwtTokenProvider, jwtProperties, rejectedTokenCache,
+                tokenRejectionMonitor, tokenRevocationRegistry.getIfAvailable());
+    }
+
+    /**
+     * Error Response Writer bean
+     * Streams ApiResponse error bodies from pre-encoded templates
+     *
+     * @ConditionalOnMissingBean allows services to override with custom writer
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorResponseWriter errorResponseWriter() {
+        return new ErrorResponseWriter();
     }
 
     /**
@@ -63,8 +115,8 @@ public class JwtConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public ExceptionHandlerFilter exceptionHandlerFilter(ObjectMapper objectMapper) {
-        return new ExceptionHandlerFilter(objectMapper);
+    public ExceptionHandlerFilter exceptionHandlerFilter(ErrorResponseWriter errorResponseWriter) {
+        return new ExceptionHandlerFilter(errorResponseWriter);
     }
 
     /**
@@ -75,8 +127,8 @@ public class JwtConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint(ObjectMapper objectMapper) {
-        return new JwtAuthenticationEntryPoint(objectMapper);
+    public JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint(ErrorResponseWriter errorResponseWriter) {
+        return new JwtAuthenticationEntryPoint(errorResponseWriter);
     }
 
     /**
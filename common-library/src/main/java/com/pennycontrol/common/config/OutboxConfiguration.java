@@ -0,0 +1,102 @@
+package com.pennycontrol.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.dto.event.UserAccountDisabledEvent;
+import com.pennycontrol.common.dto.event.UserProfileUpdatedEvent;
+import com.pennycontrol.common.dto.event.UserRegisteredEvent;
+import com.pennycontrol.common.dto.event.UserSessionsRevokedEvent;
+import com.pennycontrol.common.outbox.ApplicationEventOutboxSink;
+import com.pennycontrol.common.outbox.FileOutboxSink;
+import com.pennycontrol.common.outbox.OutboxEvent;
+import com.pennycontrol.common.outbox.OutboxProperties;
+import com.pennycontrol.common.outbox.OutboxPublisher;
+import com.pennycontrol.common.outbox.OutboxRelay;
+import com.pennycontrol.common.outbox.OutboxSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outbox Configuration
+ *
+ * This configuration is automatically imported when @EnableOutbox is used.
+ *
+ * Provides:
+ * - OutboxPublisher: Writes events in the transaction of the change they describe
+ * - OutboxRelay: Delivers committed events to the sinks, in order per aggregate
+ * - ApplicationEventOutboxSink: Republishes events to in-process @EventListener methods
+ * - FileOutboxSink: Appends events to an NDJSON file when outbox.file-sink-path is set
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+// Payloads are serialized by Jackson, which needs reflection in the native image
+@RegisterReflectionForBinding({
+        UserRegisteredEvent.class,
+        UserProfileUpdatedEvent.class,
+        UserAccountDisabledEvent.class,
+        UserSessionsRevokedEvent.class,
+        OutboxEvent.class
+})
+public class OutboxConfiguration {
+
+    /**
+     * Outbox Publisher bean
+     * Records events transactionally and wakes the relay after commit
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxPublisher outboxPublisher(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            ObjectProvider<OutboxRelay> outboxRelay) {
+        return new OutboxPublisher(jdbcTemplate, objectMapper, outboxRelay);
+    }
+
+    /**
+     * Outbox Relay bean
+     * Background delivery loop; disable with outbox.relay-enabled=false
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            List<OutboxSink> outboxSinks,
+            OutboxProperties outboxProperties,
+            MeterRegistry meterRegistry) {
+        return new OutboxRelay(jdbcTemplate, transactionManager, outboxSinks, outboxProperties, meterRegistry);
+    }
+
+    /**
+     * In-process sink bean
+     * Delivers events as Spring application events
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox", name = "in-process-sink-enabled", havingValue = "true", matchIfMissing = true)
+    public ApplicationEventOutboxSink applicationEventOutboxSink(ApplicationEventPublisher applicationEventPublisher) {
+        return new ApplicationEventOutboxSink(applicationEventPublisher);
+    }
+
+    /**
+     * File sink bean
+     * Local NDJSON log of relayed events for tests
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox", name = "file-sink-path")
+    public FileOutboxSink fileOutboxSink(OutboxProperties outboxProperties, ObjectMapper objectMapper) throws IOException {
+        return new FileOutboxSink(Path.of(outboxProperties.getFileSinkPath()), objectMapper);
+    }
+}
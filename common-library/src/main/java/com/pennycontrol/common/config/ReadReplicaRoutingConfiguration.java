@@ -0,0 +1,114 @@
+package com.pennycontrol.common.config;
+
+import com.pennycontrol.common.datasource.ReadReplicaProperties;
+import com.pennycontrol.common.datasource.ReadWriteRoutingDataSource;
+import com.pennycontrol.common.datasource.ReadYourWritesTracker;
+import com.pennycontrol.common.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read Replica Routing Configuration
+ *
+ * This configuration is automatically imported when @EnableReadReplicaRouting is used
+ * and datasource-routing.enabled is true. Otherwise the Boot auto-configured
+ * single DataSource stays in place.
+ *
+ * Provides:
+ * - primaryDataSource / replicaDataSource: Separate Hikari pools
+ * - ReplicaLagMonitor: Polls replica replay lag
+ * - ReadYourWritesTracker: Pins recent writers to the primary
+ * - dataSource: Primary DataSource used by JPA, JdbcTemplate and transactions
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ReadReplicaProperties.class, DataSourceProperties.class})
+public class ReadReplicaRoutingConfiguration {
+
+    /**
+     * Primary pool bean
+     * Built from spring.datasource and spring.datasource.hikari, like the auto-configured one
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pool bean
+     * Connections are marked read-only, so a misrouted write fails fast
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties dataSourceProperties,
+            ReadReplicaProperties readReplicaProperties) {
+        ReadReplicaProperties.Replica replica = readReplicaProperties.getReplica();
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername() != null
+                ? replica.getUsername() : dataSourceProperties.determineUsername());
+        dataSource.setPassword(replica.getPassword() != null
+                ? replica.getPassword() : dataSourceProperties.determinePassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setMinimumIdle(replica.getMinimumIdle());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Replica Lag Monitor bean
+     * Reads go to the primary until the first successful check
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            ReadReplicaProperties readReplicaProperties) {
+        return new ReplicaLagMonitor(replicaDataSource, readReplicaProperties);
+    }
+
+    /**
+     * Read-Your-Writes Tracker bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicaProperties readReplicaProperties) {
+        return new ReadYourWritesTracker(readReplicaProperties);
+    }
+
+    /**
+     * Routing DataSource bean
+     * Lazy proxy so the route is chosen once the transaction's read-only flag is known
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,34 @@
+package com.pennycontrol.common.config;
+
+import com.pennycontrol.common.schema.SchemaVersionProperties;
+import com.pennycontrol.common.schema.SchemaVersionVerifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Schema Version Configuration
+ *
+ * This configuration is automatically imported when @EnableSchemaVersionCheck is used.
+ *
+ * Provides:
+ * - SchemaVersionVerifier: Checks flyway_schema_history while the context starts
+ */
+@Configuration
+@EnableConfigurationProperties(SchemaVersionProperties.class)
+public class SchemaVersionConfiguration {
+
+    /**
+     * Schema Version Verifier bean
+     * Startup fails if the database is behind schema-version.required
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SchemaVersionVerifier schemaVersionVerifier(
+            JdbcTemplate jdbcTemplate,
+            SchemaVersionProperties schemaVersionProperties) {
+        return new SchemaVersionVerifier(jdbcTemplate, schemaVersionProperties);
+    }
+}
@@ -1,5 +1,6 @@
 package com.pennycontrol.common.config;
 
+import com.pennycontrol.common.security.InstrumentedPasswordEncoder;
 import com.pennycontrol.common.security.RoleCheckAspect;
 import com.pennycontrol.common.security.SecurityProperties;
 import com.pennycontrol.common.security.jwt.JwtAuthenticationEntryPoint;
@@ -74,7 +75,8 @@ public class SecurityConfiguration {
 
                     // Default public endpoints
                     auth.requestMatchers(
-                            "/actuator/health"
+                            "/actuator/health",
+                            "/actuator/health/**"
                     ).permitAll();
 
                     // All other requests require authentication
@@ -89,12 +91,12 @@ public class SecurityConfiguration {
 
     /**
      * BCrypt Password Encoder
-     * Used for hashing passwords
+     * Used for hashing passwords, wrapped to emit JFR events
      */
     @Bean
     @ConditionalOnMissingBean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new InstrumentedPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     /**
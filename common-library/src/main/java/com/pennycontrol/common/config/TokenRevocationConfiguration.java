@@ -0,0 +1,68 @@
+package com.pennycontrol.common.config;
+
+import com.pennycontrol.common.security.jwt.JwtProperties;
+import com.pennycontrol.common.security.revocation.TokenRevocationListener;
+import com.pennycontrol.common.security.revocation.TokenRevocationProperties;
+import com.pennycontrol.common.security.revocation.TokenRevocationRegistry;
+import com.pennycontrol.common.security.revocation.TokenRevocationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Token Revocation Configuration
+ *
+ * This configuration is automatically imported when @EnableTokenRevocation is used.
+ *
+ * Provides:
+ * - TokenRevocationRegistry: In-memory user_id -> valid-after epochs consulted by JwtAuthenticationFilter
+ * - TokenRevocationListener: LISTEN/NOTIFY subscriber (own unpooled connection) plus periodic delta sync
+ * - TokenRevocationService: Moves a user's epoch to revoke all their access tokens
+ */
+@Configuration
+@EnableConfigurationProperties(TokenRevocationProperties.class)
+public class TokenRevocationConfiguration {
+
+    /**
+     * Token Revocation Registry bean
+     * Primitive in-memory map checked on every authenticated request
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenRevocationRegistry tokenRevocationRegistry() {
+        return new TokenRevocationRegistry();
+    }
+
+    /**
+     * Token Revocation Listener bean
+     * Keeps the registry current from user_token_epochs
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenRevocationListener tokenRevocationListener(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            TokenRevocationRegistry tokenRevocationRegistry,
+            TokenRevocationProperties tokenRevocationProperties,
+            JwtProperties jwtProperties) {
+        return new TokenRevocationListener(dataSource, dataSourceProperties, tokenRevocationRegistry,
+                tokenRevocationProperties, jwtProperties);
+    }
+
+    /**
+     * Token Revocation Service bean
+     * Revokes all access tokens of a user
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenRevocationService tokenRevocationService(
+            JdbcTemplate jdbcTemplate,
+            TokenRevocationRegistry tokenRevocationRegistry) {
+        return new TokenRevocationService(jdbcTemplate, tokenRevocationRegistry);
+    }
+}
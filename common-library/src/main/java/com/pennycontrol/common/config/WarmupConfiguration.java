@@ -0,0 +1,77 @@
+package com.pennycontrol.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.security.jwt.JwtTokenProvider;
+import com.pennycontrol.common.warmup.JsonWarmupTask;
+import com.pennycontrol.common.warmup.JwtWarmupTask;
+import com.pennycontrol.common.warmup.PasswordEncoderWarmupTask;
+import com.pennycontrol.common.warmup.QueryWarmupTask;
+import com.pennycontrol.common.warmup.WarmupProperties;
+import com.pennycontrol.common.warmup.WarmupRunner;
+import com.pennycontrol.common.warmup.WarmupTask;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Warmup Configuration
+ *
+ * This configuration is automatically imported when @EnableWarmup is used.
+ *
+ * Provides:
+ * - WarmupRunner: Runs all WarmupTask beans before readiness turns UP
+ * - Built-in tasks: JWT sign/verify, ApiResponse serialization,
+ *   password encoder, configured read queries
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfiguration {
+
+    /**
+     * Warmup Runner bean
+     * Picks up built-in and service-specific WarmupTask beans
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public WarmupRunner warmupRunner(ObjectProvider<WarmupTask> warmupTasks, WarmupProperties warmupProperties) {
+        return new WarmupRunner(warmupTasks.orderedStream().toList(), warmupProperties);
+    }
+
+    /**
+     * JWT warmup task
+     */
+    @Bean
+    public JwtWarmupTask jwtWarmupTask(JwtTokenProvider jwtTokenProvider) {
+        return new JwtWarmupTask(jwtTokenProvider);
+    }
+
+    /**
+     * Response serialization warmup task
+     */
+    @Bean
+    public JsonWarmupTask jsonWarmupTask(ObjectMapper objectMapper) {
+        return new JsonWarmupTask(objectMapper);
+    }
+
+    /**
+     * Password encoder warmup task
+     */
+    @Bean
+    public PasswordEncoderWarmupTask passwordEncoderWarmupTask(
+            PasswordEncoder passwordEncoder,
+            WarmupProperties warmupProperties) {
+        return new PasswordEncoderWarmupTask(passwordEncoder, warmupProperties.getPasswordIterations());
+    }
+
+    /**
+     * Read query warmup task
+     */
+    @Bean
+    public QueryWarmupTask queryWarmupTask(JdbcTemplate jdbcTemplate, WarmupProperties warmupProperties) {
+        return new QueryWarmupTask(jdbcTemplate, warmupProperties.getQueries());
+    }
+}
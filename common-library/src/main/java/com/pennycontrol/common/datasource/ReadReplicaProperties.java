@@ -0,0 +1,52 @@
+package com.pennycontrol.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "datasource-routing")
+public class ReadReplicaProperties {
+
+    /**
+     * Route read-only transactions to the replica
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replica is skipped while its replay lag exceeds this
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /**
+     * Replica is skipped while its WAL receiver has heard nothing from the primary for this long
+     * The primary sends keepalives every wal_sender_timeout / 2 (30s by default) when idle
+     */
+    private Duration maxReceiverSilence = Duration.ofSeconds(60);
+
+    /**
+     * Interval of the replica lag check
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * After a user's write commits, their reads stay on the primary for this long
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /**
+     * Replica pool; the primary pool keeps using spring.datasource
+     */
+    private Replica replica = new Replica();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+    }
+}
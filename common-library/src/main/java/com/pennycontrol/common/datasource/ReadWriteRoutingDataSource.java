@@ -0,0 +1,57 @@
+package com.pennycontrol.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: transaction managers fetch
+ * the connection before the read-only flag is exposed, and the proxy defers
+ * the real lookup to the first statement.
+ *
+ * Reads fall back to the primary while the replica lags or is unreachable, and
+ * for a short window after the current user committed a write.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWritesTracker.registerWrite();
+            return Route.PRIMARY;
+        }
+
+        if (!lagMonitor.isHealthy() || readYourWritesTracker.isCurrentUserSticky()) {
+            return Route.PRIMARY;
+        }
+
+        return Route.REPLICA;
+    }
+}
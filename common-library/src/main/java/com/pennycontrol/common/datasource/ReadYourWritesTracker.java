@@ -0,0 +1,76 @@
+package com.pennycontrol.common.datasource;
+
+import com.pennycontrol.common.dto.UserPrincipal;
+import com.pennycontrol.common.util.SecurityUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they commit a write,
+ * so they do not read their own change back from a replica that has not replayed it yet
+ *
+ * State is per instance: a write on one replica set member does not pin reads served by another.
+ */
+public class ReadYourWritesTracker {
+
+    private static final Object REGISTERED_KEY = new Object();
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long stickyWindowNanos;
+    private final Map<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(ReadReplicaProperties properties) {
+        this.stickyWindowNanos = properties.getStickyWindow().toNanos();
+    }
+
+    /**
+     * Whether the current user wrote recently
+     */
+    public boolean isCurrentUserSticky() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(userId);
+        return writtenAt != null && System.nanoTime() - writtenAt < stickyWindowNanos;
+    }
+
+    /**
+     * Remember the current user as a writer once the current read-write transaction commits
+     */
+    public void registerWrite() {
+        Long userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REGISTERED_KEY)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(REGISTERED_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(userId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REGISTERED_KEY);
+            }
+        });
+    }
+
+    private void recordWrite(Long userId) {
+        long now = System.nanoTime();
+        lastWriteNanos.put(userId, now);
+        if (lastWriteNanos.size() > CLEANUP_THRESHOLD) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= stickyWindowNanos);
+        }
+    }
+
+    private static Long currentUserId() {
+        return SecurityUtils.getCurrentUser().map(UserPrincipal::getId).orElse(null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.pennycontrol.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically measures replica replay lag; the router only uses the replica while it is healthy
+ *
+ * Lag is zero when everything received has been replayed, so an idle primary
+ * (no new WAL, old last-replay timestamp) does not look like a lagging replica.
+ * That only holds while WAL is still arriving, so the replica also needs a
+ * streaming WAL receiver that heard from the primary within
+ * datasource-routing.max-receiver-silence. Reading pg_stat_wal_receiver needs
+ * pg_read_all_stats; without it the receiver looks absent and reads stay on
+ * the primary. Any failure to measure counts as unhealthy.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final String LAG_SQL = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   COALESCE((SELECT status = 'streaming'
+                                    AND last_msg_receipt_time > now() - ? * interval '1 millisecond'
+                             FROM pg_stat_wal_receiver), false) AS streaming,
+                   CASE
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END::BIGINT AS lag_millis
+            """;
+
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long maxReceiverSilenceMillis;
+    private final ScheduledExecutorService executor;
+
+    private volatile boolean healthy;
+    private volatile long lastLagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replica, ReadReplicaProperties properties) {
+        this.replica = replica;
+        this.maxLagMillis = properties.getMaxReplicaLag().toMillis();
+        this.maxReceiverSilenceMillis = properties.getMaxReceiverSilence().toMillis();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getLagCheckInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Last measured lag in milliseconds, or -1 if the replica could not be reached
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void check() {
+        boolean wasHealthy = healthy;
+        boolean receiving;
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_SQL)) {
+            statement.setLong(1, maxReceiverSilenceMillis);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                boolean inRecovery = rs.getBoolean("in_recovery");
+                // Not a standby at all (e.g. pointed at the primary): nothing to lag behind
+                receiving = !inRecovery || rs.getBoolean("streaming");
+                lastLagMillis = inRecovery ? rs.getLong("lag_millis") : 0;
+            }
+            healthy = receiving && lastLagMillis <= maxLagMillis;
+        } catch (Exception ex) {
+            lastLagMillis = -1;
+            healthy = false;
+            if (wasHealthy) {
+                log.warn("Replica lag check failed, routing reads to primary: {}", ex.getMessage());
+            }
+            return;
+        }
+
+        if (wasHealthy != healthy) {
+            if (healthy) {
+                log.info("Replica healthy (lag {} ms), routing read-only transactions to replica", lastLagMillis);
+            } else if (!receiving) {
+                log.warn("Replica WAL receiver is not streaming or silent for over {} ms, routing reads to primary",
+                        maxReceiverSilenceMillis);
+            } else {
+                log.warn("Replica lag {} ms exceeds {} ms, routing reads to primary", lastLagMillis, maxLagMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.pennycontrol.common.diagnostics;
+
+import com.pennycontrol.common.annotation.RequireRole;
+import com.pennycontrol.common.diagnostics.index.IndexAdvisor;
+import com.pennycontrol.common.diagnostics.index.IndexAdvisorReport;
+import com.pennycontrol.common.diagnostics.jfr.JfrEventAggregator;
+import com.pennycontrol.common.diagnostics.sql.StatementCountRegistry;
+import com.pennycontrol.common.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Admin-only diagnostics endpoints
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final JfrEventAggregator jfrEventAggregator;
+    private final StatementCountRegistry statementCountRegistry;
+    private final IndexAdvisor indexAdvisor;
+
+    @GetMapping("/events")
+    @RequireRole("ROLE_ADMIN")
+    public ResponseEntity<ApiResponse<Map<String, EventHistogramSnapshot>>> getEventHistograms() {
+        log.info("Received request for JFR event histograms");
+
+        return ResponseEntity.ok(ApiResponse.success(jfrEventAggregator.snapshot()));
+    }
+
+    @GetMapping("/statements")
+    @RequireRole("ROLE_ADMIN")
+    public ResponseEntity<ApiResponse<Map<String, StatementCountRegistry.Snapshot>>> getStatementCounts() {
+        log.info("Received request for per-endpoint statement counts");
+
+        return ResponseEntity.ok(ApiResponse.success(statementCountRegistry.snapshot()));
+    }
+
+    @GetMapping("/indexes")
+    @RequireRole("ROLE_ADMIN")
+    public ResponseEntity<ApiResponse<IndexAdvisorReport>> getIndexAdvice() {
+        log.info("Received request for index usage and bloat recommendations");
+
+        return ResponseEntity.ok(ApiResponse.success(indexAdvisor.analyze()));
+    }
+}
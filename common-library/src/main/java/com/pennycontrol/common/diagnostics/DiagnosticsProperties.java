@@ -0,0 +1,77 @@
+package com.pennycontrol.common.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "diagnostics")
+public class DiagnosticsProperties {
+    /**
+     * Stream custom JFR events in-process and fold them into histograms
+     */
+    private boolean jfrStreamingEnabled = true;
+
+    /**
+     * Maximum SQL statements per request, keyed by "METHOD /path/pattern"
+     */
+    private Map<String, Integer> statementBudgets = new HashMap<>();
+
+    /**
+     * Thresholds of the index advisor (GET /api/v1/admin/diagnostics/indexes)
+     */
+    private IndexAdvisor indexAdvisor = new IndexAdvisor();
+
+    @Data
+    public static class IndexAdvisor {
+        /**
+         * Tables to analyze; empty analyzes every table in the current schema
+         */
+        private List<String> tables = new ArrayList<>(List.of("users", "roles", "user_roles", "refresh_tokens"));
+
+        /**
+         * Statistics younger than this make unused-index findings low severity
+         */
+        private Duration minStatsAge = Duration.ofDays(7);
+
+        /**
+         * An index with at most this many scans counts as unused
+         */
+        private long unusedMaxScans = 0;
+
+        /**
+         * Estimated share of an index that is free space before it is flagged
+         */
+        private double bloatRatio = 0.3;
+
+        /**
+         * Estimated free space below which bloat is not worth a reindex
+         */
+        private long minBloatBytes = 8L * 1024 * 1024;
+
+        /**
+         * Share of dead tuples before a table is flagged for vacuum
+         */
+        private double deadTupleRatio = 0.2;
+
+        /**
+         * Tables with fewer rows (or dead tuples) are too small for sequential scan and vacuum findings
+         */
+        private long minTableRows = 10_000;
+
+        /**
+         * Sequential scans before a table's scan mix is considered
+         */
+        private long seqScanMinCount = 100;
+
+        /**
+         * Share of sequential scans among all scans of a table before it is flagged
+         */
+        private double seqScanRatio = 0.5;
+    }
+}
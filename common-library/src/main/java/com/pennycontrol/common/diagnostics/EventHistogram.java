@@ -0,0 +1,79 @@
+package com.pennycontrol.common.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets
+ *
+ * Percentiles are reported as the upper bound of the bucket they fall into,
+ * which is accurate to within a factor of two and costs a single atomic
+ * increment per recorded value.
+ */
+public class EventHistogram {
+
+    private static final int BUCKETS = 64;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+    private final LongAdder rowsAffected = new LongAdder();
+
+    /**
+     * Record one event duration and the number of rows it touched
+     */
+    public void record(long durationNanos, long rows) {
+        long nanos = Math.max(0L, durationNanos);
+        int bucket = Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(nanos));
+
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (rows > 0) {
+            rowsAffected.add(rows);
+        }
+    }
+
+    /**
+     * Take a point-in-time snapshot of the histogram
+     */
+    public EventHistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        return EventHistogramSnapshot.builder()
+                .count(total)
+                .meanMillis(total == 0 ? 0.0 : totalNanos.sum() / (double) total / NANOS_PER_MILLI)
+                .p50Millis(percentile(counts, total, 0.50))
+                .p90Millis(percentile(counts, total, 0.90))
+                .p99Millis(percentile(counts, total, 0.99))
+                .maxMillis(maxNanos.get() / NANOS_PER_MILLI)
+                .rowsAffected(rowsAffected.sum())
+                .build();
+    }
+
+    private double percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0.0;
+        }
+
+        long threshold = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                // Bucket i holds values in [2^(i-1), 2^i)
+                return Math.min(1L << Math.min(i, 62), maxNanos.get()) / NANOS_PER_MILLI;
+            }
+        }
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+}
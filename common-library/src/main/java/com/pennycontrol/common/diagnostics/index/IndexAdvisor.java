@@ -0,0 +1,451 @@
+package com.pennycontrol.common.diagnostics.index;
+
+import com.pennycontrol.common.diagnostics.DiagnosticsProperties;
+import com.pennycontrol.common.diagnostics.index.IndexRecommendation.Severity;
+import com.pennycontrol.common.diagnostics.index.IndexRecommendation.Type;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Index usage, duplication and bloat advisor
+ *
+ * Reads pg_index, pg_stat_user_indexes and pg_stat_user_tables for the
+ * configured tables and turns them into recommendations. Bloat is estimated
+ * from pg_stats column widths, in the spirit of the common btree bloat
+ * queries: expected leaf pages at the index's fill factor are compared with
+ * the actual size. The estimate needs a recent ANALYZE and ignores per-tuple
+ * null bitmaps, so it is a hint for REINDEX, not a measurement.
+ *
+ * All queries read catalogs and statistics views only; nothing is changed.
+ */
+@Slf4j
+public class IndexAdvisor {
+
+    private static final Pattern PLAIN_IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_$]*");
+
+    // btree page header and special space, index tuple header, line pointer
+    private static final int PAGE_OVERHEAD_BYTES = 24 + 16;
+    private static final int INDEX_TUPLE_HEADER_BYTES = 8;
+    private static final int LINE_POINTER_BYTES = 4;
+    private static final int DEFAULT_BTREE_FILLFACTOR = 90;
+
+    private static final String STATS_SINCE_SQL = """
+            SELECT coalesce(stats_reset, pg_postmaster_start_time())
+            FROM pg_stat_database
+            WHERE datname = current_database()
+            """;
+
+    /**
+     * Key width comes from pg_stats of the indexed columns; expression
+     * columns have no statistics and count as 8 bytes
+     */
+    private static final String INDEX_SQL = """
+            SELECT n.nspname AS schema_name,
+                   ct.relname AS table_name,
+                   ci.relname AS index_name,
+                   am.amname AS access_method,
+                   pg_get_indexdef(i.indexrelid) AS definition,
+                   i.indisunique AS is_unique,
+                   i.indisprimary AS is_primary,
+                   i.indisvalid AS is_valid,
+                   EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid) AS constraint_backed,
+                   i.indnkeyatts AS key_count,
+                   i.indkey::text AS columns,
+                   i.indclass::text AS opclasses,
+                   i.indoption::text AS options,
+                   pg_get_expr(i.indexprs, i.indrelid) AS expressions,
+                   pg_get_expr(i.indpred, i.indrelid) AS predicate,
+                   pg_relation_size(i.indexrelid) AS size_bytes,
+                   ci.relpages AS pages,
+                   ci.reltuples AS tuples,
+                   current_setting('block_size')::int AS block_size,
+                   (SELECT option_value::int FROM pg_options_to_table(ci.reloptions)
+                    WHERE option_name = 'fillfactor') AS fillfactor,
+                   w.key_width,
+                   w.unanalyzed_columns,
+                   coalesce(s.idx_scan, 0) AS scans,
+                   coalesce(s.idx_tup_read, 0) AS tuples_read
+            FROM pg_index i
+            JOIN pg_class ci ON ci.oid = i.indexrelid
+            JOIN pg_class ct ON ct.oid = i.indrelid
+            JOIN pg_namespace n ON n.oid = ct.relnamespace
+            JOIN pg_am am ON am.oid = ci.relam
+            LEFT JOIN pg_stat_user_indexes s ON s.indexrelid = i.indexrelid
+            LEFT JOIN LATERAL (
+                SELECT sum(coalesce(st.avg_width, 8)) AS key_width,
+                       count(*) FILTER (WHERE a.attname IS NOT NULL AND st.avg_width IS NULL) AS unanalyzed_columns
+                FROM generate_series(0, i.indnatts - 1) AS k
+                LEFT JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[k]
+                LEFT JOIN pg_stats st ON st.schemaname = n.nspname
+                                     AND st.tablename = ct.relname
+                                     AND st.attname = a.attname
+            ) w ON true
+            WHERE n.nspname = current_schema()
+            """;
+
+    private static final String TABLE_SQL = """
+            SELECT s.relname AS table_name,
+                   pg_table_size(s.relid) AS size_bytes,
+                   s.n_live_tup AS live_tuples,
+                   s.n_dead_tup AS dead_tuples,
+                   s.seq_scan AS seq_scans,
+                   s.seq_tup_read AS seq_tuples_read,
+                   coalesce(s.idx_scan, 0) AS index_scans,
+                   s.last_autovacuum,
+                   s.last_autoanalyze
+            FROM pg_stat_user_tables s
+            WHERE s.schemaname = current_schema()
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DiagnosticsProperties.IndexAdvisor properties;
+
+    public IndexAdvisor(JdbcTemplate jdbcTemplate, DiagnosticsProperties diagnosticsProperties) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.properties = diagnosticsProperties.getIndexAdvisor();
+    }
+
+    public IndexAdvisorReport analyze() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp statsReset = jdbcTemplate.getJdbcTemplate().queryForObject(STATS_SINCE_SQL, Timestamp.class);
+        LocalDateTime statsSince = statsReset != null ? statsReset.toLocalDateTime() : null;
+        boolean statsMature = statsSince != null
+                && Duration.between(statsSince, now).compareTo(properties.getMinStatsAge()) >= 0;
+
+        List<IndexRow> indexes = queryIndexes();
+        List<TableStats> tables = queryTables();
+
+        List<IndexRecommendation> recommendations = new ArrayList<>();
+        Set<String> droppable = new HashSet<>();
+        findDuplicates(indexes, recommendations, droppable);
+        findUnused(indexes, statsMature, recommendations, droppable);
+        findBloated(indexes, recommendations, droppable);
+        findTableIssues(tables, recommendations);
+        recommendations.sort(Comparator.comparing(IndexRecommendation::getSeverity)
+                .thenComparing(IndexRecommendation::getType)
+                .thenComparing(IndexRecommendation::getTable));
+
+        log.info("Index advisor: {} recommendations for {} indexes on {} tables",
+                recommendations.size(), indexes.size(), tables.size());
+
+        return IndexAdvisorReport.builder()
+                .generatedAt(now)
+                .statsSince(statsSince)
+                .recommendations(recommendations)
+                .indexes(indexes.stream().map(IndexRow::stats).toList())
+                .tables(tables)
+                .build();
+    }
+
+    /**
+     * Exact duplicates, and non-unique btrees whose keys lead another btree with the same predicate
+     */
+    private void findDuplicates(List<IndexRow> indexes, List<IndexRecommendation> recommendations,
+                                Set<String> droppable) {
+        Map<String, List<IndexRow>> byTable = indexes.stream()
+                .filter(IndexRow::valid)
+                .collect(Collectors.groupingBy(IndexRow::table));
+
+        for (List<IndexRow> tableIndexes : byTable.values()) {
+            for (int i = 0; i < tableIndexes.size(); i++) {
+                for (int j = i + 1; j < tableIndexes.size(); j++) {
+                    IndexRow a = tableIndexes.get(i);
+                    IndexRow b = tableIndexes.get(j);
+                    if (a.sameDefinition(b)) {
+                        IndexRow drop = a.keepRank() < b.keepRank()
+                                || (a.keepRank() == b.keepRank() && a.scans() <= b.scans()) ? a : b;
+                        IndexRow keep = drop == a ? b : a;
+                        if (droppable.add(drop.index())) {
+                            recommendations.add(dropRecommendation(Type.DUPLICATE_INDEX, Severity.HIGH, drop, keep,
+                                    "Same columns, operator classes and predicate as " + keep.index()));
+                        }
+                    }
+                }
+            }
+
+            for (IndexRow a : tableIndexes) {
+                for (IndexRow b : tableIndexes) {
+                    if (a != b && !droppable.contains(a.index()) && !droppable.contains(b.index())
+                            && a.isLeadingPrefixOf(b)) {
+                        droppable.add(a.index());
+                        recommendations.add(dropRecommendation(Type.REDUNDANT_INDEX, Severity.MEDIUM, a, b,
+                                "Key columns are a leading prefix of " + b.index()
+                                        + ", which serves the same lookups"));
+                    }
+                }
+            }
+        }
+    }
+
+    private void findUnused(List<IndexRow> indexes, boolean statsMature,
+                            List<IndexRecommendation> recommendations, Set<String> droppable) {
+        for (IndexRow index : indexes) {
+            if (index.enforcesUniqueness() || droppable.contains(index.index())
+                    || index.scans() > properties.getUnusedMaxScans()) {
+                continue;
+            }
+            droppable.add(index.index());
+            recommendations.add(dropRecommendation(Type.UNUSED_INDEX,
+                    statsMature ? Severity.MEDIUM : Severity.LOW, index, null,
+                    index.scans() + " scans since statistics were reset"
+                            + (statsMature ? "" : "; statistics are younger than " + properties.getMinStatsAge())));
+        }
+    }
+
+    private void findBloated(List<IndexRow> indexes, List<IndexRecommendation> recommendations,
+                             Set<String> droppable) {
+        for (IndexRow index : indexes) {
+            Long bloatBytes = index.stats().getEstimatedBloatBytes();
+            if (bloatBytes == null || droppable.contains(index.index())
+                    || bloatBytes < properties.getMinBloatBytes()
+                    || index.stats().getEstimatedBloatRatio() < properties.getBloatRatio()) {
+                continue;
+            }
+            recommendations.add(IndexRecommendation.builder()
+                    .type(Type.BLOATED_INDEX)
+                    .severity(index.stats().getEstimatedBloatRatio() >= 2 * properties.getBloatRatio()
+                            ? Severity.HIGH : Severity.MEDIUM)
+                    .table(index.table())
+                    .index(index.index())
+                    .reason(String.format("About %.0f%% of %d bytes is estimated to be free space",
+                            index.stats().getEstimatedBloatRatio() * 100, index.sizeBytes()))
+                    .action("REINDEX INDEX CONCURRENTLY " + index.qualifiedName() + ";")
+                    .estimatedSavingsBytes(bloatBytes)
+                    .build());
+        }
+    }
+
+    private void findTableIssues(List<TableStats> tables, List<IndexRecommendation> recommendations) {
+        for (TableStats table : tables) {
+            long scans = table.getSeqScans() + table.getIndexScans();
+            if (table.getLiveTuples() >= properties.getMinTableRows()
+                    && table.getSeqScans() > 0
+                    && table.getSeqScans() >= properties.getSeqScanMinCount()
+                    && (double) table.getSeqScans() / scans >= properties.getSeqScanRatio()) {
+                recommendations.add(IndexRecommendation.builder()
+                        .type(Type.HEAVY_SEQ_SCAN)
+                        .severity(Severity.HIGH)
+                        .table(table.getTable())
+                        .reason(String.format("%d of %d scans were sequential, reading %d rows each on average",
+                                table.getSeqScans(), scans, table.getSeqTuplesRead() / table.getSeqScans()))
+                        .build());
+            }
+
+            long tuples = table.getLiveTuples() + table.getDeadTuples();
+            if (table.getDeadTuples() >= properties.getMinTableRows()
+                    && (double) table.getDeadTuples() / tuples >= properties.getDeadTupleRatio()) {
+                recommendations.add(IndexRecommendation.builder()
+                        .type(Type.DEAD_TUPLES)
+                        .severity(Severity.MEDIUM)
+                        .table(table.getTable())
+                        .reason(String.format("%d of %d tuples are dead; last autovacuum %s",
+                                table.getDeadTuples(), tuples, table.getLastAutovacuum()))
+                        .action("VACUUM (ANALYZE) " + quote(table.getTable()) + ";")
+                        .build());
+            }
+        }
+    }
+
+    private IndexRecommendation dropRecommendation(Type type, Severity severity, IndexRow drop, IndexRow keep,
+                                                   String reason) {
+        return IndexRecommendation.builder()
+                .type(type)
+                .severity(severity)
+                .table(drop.table())
+                .index(drop.index())
+                .coveredBy(keep != null ? keep.index() : null)
+                .reason(reason)
+                // Constraint-backed indexes go with their constraint, which needs a human decision
+                .action(drop.constraintBacked() ? null : "DROP INDEX CONCURRENTLY " + drop.qualifiedName() + ";")
+                .estimatedSavingsBytes(drop.sizeBytes())
+                .build();
+    }
+
+    private List<IndexRow> queryIndexes() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = INDEX_SQL + tableFilter("ct.relname", params) + " ORDER BY ct.relname, ci.relname";
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            IndexRow row = new IndexRow(
+                    rs.getString("schema_name"),
+                    rs.getString("table_name"),
+                    rs.getString("index_name"),
+                    rs.getString("access_method"),
+                    rs.getBoolean("is_unique"),
+                    rs.getBoolean("is_primary"),
+                    rs.getBoolean("constraint_backed"),
+                    rs.getBoolean("is_valid"),
+                    keyPart(rs.getString("columns"), rs.getInt("key_count")),
+                    rs.getString("columns"),
+                    keyPart(rs.getString("opclasses"), rs.getInt("key_count")),
+                    keyPart(rs.getString("options"), rs.getInt("key_count")),
+                    rs.getString("expressions"),
+                    rs.getString("predicate"),
+                    rs.getLong("size_bytes"),
+                    rs.getLong("scans"),
+                    IndexStats.builder()
+                            .table(rs.getString("table_name"))
+                            .index(rs.getString("index_name"))
+                            .definition(rs.getString("definition"))
+                            .unique(rs.getBoolean("is_unique"))
+                            .primary(rs.getBoolean("is_primary"))
+                            .constraintBacked(rs.getBoolean("constraint_backed"))
+                            .valid(rs.getBoolean("is_valid"))
+                            .sizeBytes(rs.getLong("size_bytes"))
+                            .scans(rs.getLong("scans"))
+                            .tuplesRead(rs.getLong("tuples_read"))
+                            .build());
+
+            if ("btree".equals(row.accessMethod()) && rs.getDouble("tuples") > 0 && rs.getInt("unanalyzed_columns") == 0) {
+                Integer fillfactor = (Integer) rs.getObject("fillfactor");
+                estimateBloat(row.stats(), rs.getLong("pages"), rs.getDouble("tuples"), rs.getInt("block_size"),
+                        fillfactor != null ? fillfactor : DEFAULT_BTREE_FILLFACTOR, rs.getDouble("key_width"));
+            }
+            return row;
+        });
+    }
+
+    private List<TableStats> queryTables() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = TABLE_SQL + tableFilter("s.relname", params) + " ORDER BY s.relname";
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> TableStats.builder()
+                .table(rs.getString("table_name"))
+                .sizeBytes(rs.getLong("size_bytes"))
+                .liveTuples(rs.getLong("live_tuples"))
+                .deadTuples(rs.getLong("dead_tuples"))
+                .seqScans(rs.getLong("seq_scans"))
+                .seqTuplesRead(rs.getLong("seq_tuples_read"))
+                .indexScans(rs.getLong("index_scans"))
+                .lastAutovacuum(toLocalDateTime(rs.getTimestamp("last_autovacuum")))
+                .lastAutoanalyze(toLocalDateTime(rs.getTimestamp("last_autoanalyze")))
+                .build());
+    }
+
+    private String tableFilter(String column, MapSqlParameterSource params) {
+        if (properties.getTables() == null || properties.getTables().isEmpty()) {
+            return "";
+        }
+        params.addValue("tables", properties.getTables());
+        return " AND " + column + " IN (:tables)";
+    }
+
+    /**
+     * Leaf pages needed for the current tuples at the fill factor, plus 1% for
+     * internal pages and the meta page, compared with the actual page count
+     */
+    private static void estimateBloat(IndexStats stats, long pages, double tuples, int blockSize,
+                                      int fillfactor, double keyWidth) {
+        long tupleBytes = align8(INDEX_TUPLE_HEADER_BYTES + (long) Math.ceil(keyWidth)) + LINE_POINTER_BYTES;
+        double usableBytes = (blockSize - PAGE_OVERHEAD_BYTES) * fillfactor / 100.0;
+        long leafPages = (long) Math.ceil(tuples * tupleBytes / usableBytes);
+        long expectedPages = (long) Math.ceil(leafPages * 1.01) + 1;
+
+        long bloatBytes = Math.max(0, pages - expectedPages) * blockSize;
+        stats.setEstimatedBloatBytes(bloatBytes);
+        stats.setEstimatedBloatRatio(pages > 0 ? (double) bloatBytes / (pages * blockSize) : 0.0);
+    }
+
+    private static long align8(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * First keyCount entries of a space-separated int2vector/oidvector; the rest are INCLUDE columns
+     */
+    private static List<String> keyPart(String vector, int keyCount) {
+        List<String> parts = Arrays.asList(vector.trim().split("\\s+"));
+        return parts.subList(0, Math.min(keyCount, parts.size()));
+    }
+
+    private static String quote(String identifier) {
+        return PLAIN_IDENTIFIER.matcher(identifier).matches()
+                ? identifier
+                : "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record IndexRow(
+            String schema,
+            String table,
+            String index,
+            String accessMethod,
+            boolean unique,
+            boolean primary,
+            boolean constraintBacked,
+            boolean valid,
+            List<String> keyColumns,
+            String allColumns,
+            List<String> opclasses,
+            List<String> options,
+            String expressions,
+            String predicate,
+            long sizeBytes,
+            long scans,
+            IndexStats stats) {
+
+        boolean enforcesUniqueness() {
+            return unique || primary || constraintBacked;
+        }
+
+        /**
+         * Which of two duplicates to keep: primary key, then constraint, then unique
+         */
+        int keepRank() {
+            return primary ? 3 : constraintBacked ? 2 : unique ? 1 : 0;
+        }
+
+        boolean sameDefinition(IndexRow other) {
+            return accessMethod.equals(other.accessMethod)
+                    && allColumns.equals(other.allColumns)
+                    && keyColumns.equals(other.keyColumns)
+                    && opclasses.equals(other.opclasses)
+                    && options.equals(other.options)
+                    && Objects.equals(expressions, other.expressions)
+                    && Objects.equals(predicate, other.predicate);
+        }
+
+        /**
+         * A non-unique btree without INCLUDE columns is redundant when its keys
+         * (with the same operator classes and sort options) lead another btree
+         * over the same rows
+         */
+        boolean isLeadingPrefixOf(IndexRow other) {
+            return !enforcesUniqueness()
+                    && "btree".equals(accessMethod)
+                    && "btree".equals(other.accessMethod)
+                    && expressions == null
+                    && other.expressions == null
+                    && Objects.equals(predicate, other.predicate)
+                    && allColumns.trim().split("\\s+").length == keyColumns.size()
+                    && keyColumns.size() <= other.keyColumns.size()
+                    && other.keyColumns.subList(0, keyColumns.size()).equals(keyColumns)
+                    && other.opclasses.subList(0, opclasses.size()).equals(opclasses)
+                    && other.options.subList(0, options.size()).equals(options)
+                    && !sameDefinition(other);
+        }
+
+        String qualifiedName() {
+            return quote(schema) + "." + quote(index);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.pennycontrol.common.diagnostics.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexAdvisorReport {
+    private LocalDateTime generatedAt;
+
+    /**
+     * Usage counters cover the time since this instant
+     */
+    private LocalDateTime statsSince;
+    private List<IndexRecommendation> recommendations;
+    private List<IndexStats> indexes;
+    private List<TableStats> tables;
+}
@@ -0,0 +1,49 @@
+package com.pennycontrol.common.diagnostics.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexRecommendation {
+
+    public enum Type {
+        /** Same columns, operator classes and predicate as another index */
+        DUPLICATE_INDEX,
+        /** Key columns are a leading prefix of another index with the same predicate */
+        REDUNDANT_INDEX,
+        /** Not scanned since statistics were reset */
+        UNUSED_INDEX,
+        /** Estimated free space well above what the fill factor leaves */
+        BLOATED_INDEX,
+        /** Large table read mostly by sequential scans */
+        HEAVY_SEQ_SCAN,
+        /** Large share of dead tuples not yet vacuumed */
+        DEAD_TUPLES
+    }
+
+    public enum Severity {
+        HIGH, MEDIUM, LOW
+    }
+
+    private Type type;
+    private Severity severity;
+    private String table;
+    private String index;
+
+    /**
+     * Index that makes {@link #index} unnecessary, for duplicate and redundant findings
+     */
+    private String coveredBy;
+    private String reason;
+
+    /**
+     * Suggested SQL, or null when the fix needs a decision (e.g. which query needs an index)
+     */
+    private String action;
+    private long estimatedSavingsBytes;
+}
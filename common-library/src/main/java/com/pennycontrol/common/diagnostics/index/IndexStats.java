@@ -0,0 +1,29 @@
+package com.pennycontrol.common.diagnostics.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexStats {
+    private String table;
+    private String index;
+    private String definition;
+    private boolean unique;
+    private boolean primary;
+    private boolean constraintBacked;
+    private boolean valid;
+    private long sizeBytes;
+    private long scans;
+    private long tuplesRead;
+
+    /**
+     * Null when the index is not a btree or its table has not been analyzed
+     */
+    private Long estimatedBloatBytes;
+    private Double estimatedBloatRatio;
+}
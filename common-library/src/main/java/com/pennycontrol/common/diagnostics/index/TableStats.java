@@ -0,0 +1,24 @@
+package com.pennycontrol.common.diagnostics.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableStats {
+    private String table;
+    private long sizeBytes;
+    private long liveTuples;
+    private long deadTuples;
+    private long seqScans;
+    private long seqTuplesRead;
+    private long indexScans;
+    private LocalDateTime lastAutovacuum;
+    private LocalDateTime lastAutoanalyze;
+}
@@ -0,0 +1,28 @@
+package com.pennycontrol.common.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when RoleCheckAspect denies access to a method
+ */
+@Name("com.pennycontrol.AccessDenied")
+@Label("Access Denied")
+@Category({"Penny Control", "Security"})
+@Description("A @RequireRole check rejected the current user")
+@StackTrace(false)
+public class AccessDeniedEvent extends Event {
+
+    @Label("User ID")
+    public long userId;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Required Roles")
+    public String requiredRoles;
+}
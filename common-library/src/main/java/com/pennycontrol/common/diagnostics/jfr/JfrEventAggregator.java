@@ -0,0 +1,99 @@
+package com.pennycontrol.common.diagnostics.jfr;
+
+import com.pennycontrol.common.diagnostics.DiagnosticsProperties;
+import com.pennycontrol.common.diagnostics.EventHistogram;
+import com.pennycontrol.common.diagnostics.EventHistogramSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Event;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consumes our custom JFR events through an in-process RecordingStream
+ * and folds them into per-operation latency histograms
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JfrEventAggregator {
+
+    private static final List<Class<? extends Event>> EVENT_TYPES = List.of(
+            JwtTokenEvent.class,
+            PasswordHashEvent.class,
+            RefreshTokenEvent.class,
+            TokenCleanupEvent.class,
+            AccessDeniedEvent.class
+    );
+
+    private final DiagnosticsProperties diagnosticsProperties;
+    private final Map<String, EventHistogram> histograms = new ConcurrentHashMap<>();
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    public void start() {
+        if (!diagnosticsProperties.isJfrStreamingEnabled()) {
+            log.info("JFR event streaming is disabled");
+            return;
+        }
+
+        try {
+            RecordingStream stream = new RecordingStream();
+            EVENT_TYPES.forEach(stream::enable);
+            stream.setOrdered(false);
+            stream.setReuse(true);
+            stream.onEvent(this::accept);
+            stream.startAsync();
+            this.recordingStream = stream;
+            log.info("JFR event streaming started for {} event types", EVENT_TYPES.size());
+        } catch (RuntimeException ex) {
+            log.warn("JFR event streaming unavailable: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    /**
+     * Current histograms keyed by event and operation
+     */
+    public Map<String, EventHistogramSnapshot> snapshot() {
+        Map<String, EventHistogramSnapshot> result = new TreeMap<>();
+        histograms.forEach((key, histogram) -> result.put(key, histogram.snapshot()));
+        return result;
+    }
+
+    private void accept(RecordedEvent event) {
+        long rows = event.hasField("rowsAffected") ? event.getLong("rowsAffected") : 0L;
+        histograms.computeIfAbsent(histogramKey(event), key -> new EventHistogram())
+                .record(event.getDuration().toNanos(), rows);
+    }
+
+    /**
+     * Build a key such as "JwtToken.VERIFY.access" from the event name and its discriminating fields
+     */
+    private String histogramKey(RecordedEvent event) {
+        String name = event.getEventType().getName();
+        StringBuilder key = new StringBuilder(name.substring(name.lastIndexOf('.') + 1));
+
+        for (String field : new String[]{"operation", "batch", "tokenType"}) {
+            if (event.hasField(field)) {
+                String value = event.getString(field);
+                if (value != null) {
+                    key.append('.').append(value);
+                }
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.pennycontrol.common.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every JWT sign and verify operation
+ */
+@Name("com.pennycontrol.JwtToken")
+@Label("JWT Token Operation")
+@Category({"Penny Control", "Security"})
+@Description("Signing or verification of a JWT by JwtTokenProvider")
+@StackTrace(false)
+public class JwtTokenEvent extends Event {
+
+    public static final String SIGN = "SIGN";
+    public static final String VERIFY = "VERIFY";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Token Type")
+    public String tokenType;
+
+    @Label("User ID")
+    public long userId;
+
+    @Label("Success")
+    public boolean success;
+}
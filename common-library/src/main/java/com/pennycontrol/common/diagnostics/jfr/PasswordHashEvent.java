@@ -0,0 +1,28 @@
+package com.pennycontrol.common.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every password hash or password match
+ */
+@Name("com.pennycontrol.PasswordHash")
+@Label("Password Hash")
+@Category({"Penny Control", "Security"})
+@Description("Password encoding or verification by the configured PasswordEncoder")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    public static final String ENCODE = "ENCODE";
+    public static final String MATCH = "MATCH";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Matched")
+    public boolean matched;
+}
@@ -0,0 +1,32 @@
+package com.pennycontrol.common.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for refresh token persistence operations
+ */
+@Name("com.pennycontrol.RefreshToken")
+@Label("Refresh Token Operation")
+@Category({"Penny Control", "Persistence"})
+@Description("Creation, rotation or revocation of a stored refresh token")
+@StackTrace(false)
+public class RefreshTokenEvent extends Event {
+
+    public static final String CREATE = "CREATE";
+    public static final String ROTATE = "ROTATE";
+    public static final String REVOKE = "REVOKE";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("User ID")
+    public long userId;
+
+    @Label("Rows Affected")
+    public int rowsAffected;
+}
@@ -0,0 +1,28 @@
+package com.pennycontrol.common.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for each batch of the scheduled refresh token cleanup
+ */
+@Name("com.pennycontrol.TokenCleanup")
+@Label("Token Cleanup Batch")
+@Category({"Penny Control", "Persistence"})
+@Description("One delete batch of the scheduled refresh token cleanup job")
+@StackTrace(false)
+public class TokenCleanupEvent extends Event {
+
+    public static final String EXPIRED = "EXPIRED";
+    public static final String REVOKED = "REVOKED";
+
+    @Label("Batch")
+    public String batch;
+
+    @Label("Rows Affected")
+    public int rowsAffected;
+}
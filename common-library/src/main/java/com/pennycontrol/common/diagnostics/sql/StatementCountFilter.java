@@ -0,0 +1,62 @@
+package com.pennycontrol.common.diagnostics.sql;
+
+import com.pennycontrol.common.diagnostics.DiagnosticsProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request runs
+ *
+ * Counts are recorded per endpoint in StatementCountRegistry and checked
+ * against the budgets configured under diagnostics.statement-budgets.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final StatementCountRegistry statementCountRegistry;
+    private final DiagnosticsProperties diagnosticsProperties;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = StatementCounter.stop();
+            String endpoint = resolveEndpoint(request);
+            statementCountRegistry.record(endpoint, statements);
+
+            Integer budget = diagnosticsProperties.getStatementBudgets().get(endpoint);
+            if (budget != null && statements > budget) {
+                log.warn("Statement budget exceeded for {}: {} statements (budget {})", endpoint, statements, budget);
+            } else {
+                log.debug("{} ran {} statements", endpoint, statements);
+            }
+        }
+    }
+
+    /**
+     * Resolve "METHOD /path/pattern" using the matched handler pattern when available
+     */
+    private String resolveEndpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return StatementCountRegistry.OTHER_ENDPOINT;
+        }
+        return request.getMethod() + " " + pattern;
+    }
+}
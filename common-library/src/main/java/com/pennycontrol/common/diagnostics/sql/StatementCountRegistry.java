@@ -0,0 +1,98 @@
+package com.pennycontrol.common.diagnostics.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint statement count statistics
+ *
+ * Endpoints are keyed as "METHOD /path/pattern". The number of distinct keys is
+ * capped so unmapped URLs cannot grow the registry without bound.
+ */
+public class StatementCountRegistry {
+
+    static final String OTHER_ENDPOINT = "OTHER";
+    private static final int MAX_ENDPOINTS = 256;
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Record the statement count of one request
+     */
+    public void record(String endpoint, long statements) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (endpointStats == null) {
+            String key = stats.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINT;
+            endpointStats = stats.computeIfAbsent(key, k -> new EndpointStats());
+        }
+        endpointStats.record(statements);
+    }
+
+    /**
+     * Statement count of the most recent request to the endpoint
+     */
+    public Optional<Long> lastCount(String endpoint) {
+        return Optional.ofNullable(stats.get(endpoint)).map(s -> s.last.get());
+    }
+
+    /**
+     * Snapshot of all endpoint statistics
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        stats.forEach((endpoint, s) -> result.put(endpoint, s.snapshot()));
+        return result;
+    }
+
+    /**
+     * Clear all statistics
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private static class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0L);
+        private final AtomicLong last = new AtomicLong();
+
+        void record(long count) {
+            requests.increment();
+            statements.add(count);
+            max.accumulate(count);
+            last.set(count);
+        }
+
+        Snapshot snapshot() {
+            long requestCount = requests.sum();
+            return Snapshot.builder()
+                    .requests(requestCount)
+                    .meanStatements(requestCount == 0 ? 0.0 : statements.sum() / (double) requestCount)
+                    .maxStatements(max.get())
+                    .lastStatements(last.get())
+                    .build();
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Snapshot {
+        private long requests;
+        private double meanStatements;
+        private long maxStatements;
+        private long lastStatements;
+    }
+}
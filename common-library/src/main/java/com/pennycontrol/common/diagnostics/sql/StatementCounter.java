@@ -0,0 +1,66 @@
+package com.pennycontrol.common.diagnostics.sql;
+
+/**
+ * Thread-bound counter of SQL statements executed through the application DataSource
+ *
+ * Counting is only active between {@link #start()} and {@link #stop()},
+ * which StatementCountFilter calls around every request. Scopes nest:
+ * statements counted in an inner scope are also added to the outer one.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Open a counting scope on the current thread
+     */
+    public static void start() {
+        CURRENT.set(new Scope(CURRENT.get()));
+    }
+
+    /**
+     * Close the current scope and return the number of statements seen in it
+     */
+    public static long stop() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return 0L;
+        }
+
+        if (scope.parent != null) {
+            scope.parent.count += scope.count;
+            CURRENT.set(scope.parent);
+        } else {
+            CURRENT.remove();
+        }
+        return scope.count;
+    }
+
+    /**
+     * Number of statements counted so far in the current scope
+     */
+    public static long current() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.count : 0L;
+    }
+
+    static void increment() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+        }
+    }
+
+    private static final class Scope {
+        private final Scope parent;
+        private long count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+    }
+}
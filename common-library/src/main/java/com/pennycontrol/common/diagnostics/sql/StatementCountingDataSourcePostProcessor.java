@@ -0,0 +1,42 @@
+package com.pennycontrol.common.diagnostics.sql;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every executed statement is counted
+ *
+ * Only the bean named "dataSource" is wrapped: with read-replica routing the
+ * underlying pools are separate beans, and wrapping them as well would count
+ * each statement twice. Further QueryExecutionListener beans (e.g. SQL
+ * capture in tests) are attached to the same proxy.
+ */
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<QueryExecutionListener> listeners;
+
+    public StatementCountingDataSourcePostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new StatementCountingListener());
+        listeners.orderedStream().forEach(builder::listener);
+        return builder.build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.pennycontrol.common.diagnostics.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts every statement executed through the application DataSource on the current thread
+ *
+ * Sits at the JDBC level, so Hibernate, JdbcTemplate and hand-written JDBC
+ * are all counted. One execution is one round trip: a JDBC batch counts once.
+ */
+public class StatementCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StatementCounter.increment();
+    }
+}
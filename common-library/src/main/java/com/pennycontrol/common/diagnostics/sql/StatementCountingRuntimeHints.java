@@ -0,0 +1,28 @@
+package com.pennycontrol.common.diagnostics.sql;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Native-image hints for the counting DataSource proxy
+ *
+ * datasource-proxy wraps connections and statements in JDK dynamic proxies,
+ * which a native image can only create when the interface lists are known
+ * at build time.
+ */
+public class StatementCountingRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, Connection.class);
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, Statement.class);
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, PreparedStatement.class);
+        hints.proxies().registerJdkProxy(ProxyJdbcObject.class, CallableStatement.class);
+    }
+}
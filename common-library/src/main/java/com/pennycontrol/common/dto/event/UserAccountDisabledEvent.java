@@ -0,0 +1,20 @@
+package com.pennycontrol.common.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of {@link UserEvents#ACCOUNT_DISABLED}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAccountDisabledEvent {
+    private Long userId;
+    private LocalDateTime disabledAt;
+}
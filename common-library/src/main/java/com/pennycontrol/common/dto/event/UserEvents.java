@@ -0,0 +1,20 @@
+package com.pennycontrol.common.dto.event;
+
+/**
+ * Outbox aggregate and event types of the user aggregate
+ *
+ * Both services write these; the aggregate id is the user id, so all events
+ * of one user are delivered in commit order.
+ */
+public final class UserEvents {
+
+    public static final String AGGREGATE_TYPE = "user";
+
+    public static final String REGISTERED = "user.registered";
+    public static final String PROFILE_UPDATED = "user.profile-updated";
+    public static final String ACCOUNT_DISABLED = "user.account-disabled";
+    public static final String SESSIONS_REVOKED = "user.sessions-revoked";
+
+    private UserEvents() {
+    }
+}
@@ -0,0 +1,25 @@
+package com.pennycontrol.common.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Payload of {@link UserEvents#PROFILE_UPDATED}
+ *
+ * Carries the names of the changed fields only; consumers that need values
+ * read the current profile.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileUpdatedEvent {
+    private Long userId;
+    private List<String> changedFields;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.pennycontrol.common.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of {@link UserEvents#REGISTERED}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRegisteredEvent {
+    private Long userId;
+    private String email;
+    private String name;
+    private String currency;
+    private LocalDateTime registeredAt;
+}
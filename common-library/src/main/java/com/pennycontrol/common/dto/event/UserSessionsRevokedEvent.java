@@ -0,0 +1,29 @@
+package com.pennycontrol.common.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of {@link UserEvents#SESSIONS_REVOKED}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSessionsRevokedEvent {
+
+    public static final String SCOPE_ALL = "all";
+    public static final String SCOPE_DEVICE = "device";
+
+    private Long userId;
+
+    /**
+     * "all" for logout everywhere, "device" for a single session
+     */
+    private String scope;
+    private LocalDateTime revokedAt;
+}
@@ -20,8 +20,10 @@ import java.util.Set;
 @AllArgsConstructor
 public class User {
 
+    // Pooled-lo sequence (see hibernate.id.optimizer.pooled.preferred) so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 255)
@@ -20,4 +20,12 @@ public class BusinessException extends RuntimeException {
         super(message, cause);
         this.errorCode = errorCode;
     }
+
+    /**
+     * For hot rejection paths: skips stack trace capture and suppression tracking
+     */
+    protected BusinessException(ErrorCode errorCode, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
 }
\ No newline at end of file
@@ -22,6 +22,9 @@ public enum ErrorCode {
     BUSINESS_RULE_VIOLATION("BUS_001", "Business rule violation"),
     OPERATION_NOT_ALLOWED("BUS_002", "Operation not allowed"),
 
+    // Rate Limiting
+    TOO_MANY_REQUESTS("RATE_001", "Too many requests"),
+
     // System
     INTERNAL_SERVER_ERROR("SYS_001", "Internal server error"),
     SERVICE_UNAVAILABLE("SYS_002", "Service temporarily unavailable"),
@@ -0,0 +1,13 @@
+package com.pennycontrol.common.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(ErrorCode.TOO_MANY_REQUESTS, message, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -12,4 +12,16 @@ public class UnauthorizedException extends BusinessException {
     public UnauthorizedException(ErrorCode errorCode, String message) {
         super(errorCode, message);
     }
+
+    private UnauthorizedException(ErrorCode errorCode, String message, boolean writableStackTrace) {
+        super(errorCode, message, writableStackTrace);
+    }
+
+    /**
+     * Create an exception without a stack trace
+     * Used where rejections are expected and frequent (e.g. invalid bearer tokens)
+     */
+    public static UnauthorizedException withoutStackTrace(ErrorCode errorCode, String message) {
+        return new UnauthorizedException(errorCode, message, false);
+    }
 }
@@ -0,0 +1,102 @@
+package com.pennycontrol.common.exception.handler;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.pennycontrol.common.exception.ErrorCode;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes ApiResponse error bodies straight to the response output stream
+ *
+ * Produces the same JSON as serializing ApiResponse.error(ErrorDetails) with the
+ * shared ObjectMapper, but without building the object graph or going through
+ * reflection. The constant part of each body is pre-encoded once per
+ * (error code, message, detail) and only the timestamp and path are spliced in.
+ * Used by the filter-level rejection paths, which get hot when clients spray invalid tokens.
+ */
+public class ErrorResponseWriter {
+
+    private static final int MAX_TEMPLATES = 512;
+    private static final byte[] PREFIX = "{\"success\":false,\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<TemplateKey, byte[]> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Write an error response for the given error code and messages
+     */
+    public void write(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            HttpStatus status,
+            ErrorCode errorCode,
+            String message,
+            String detail) throws IOException {
+
+        byte[] timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] middle = template(errorCode, message, detail);
+        byte[] path = JsonStringEncoder.getInstance().quoteAsUTF8(request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLength(PREFIX.length + timestamp.length + middle.length + path.length + SUFFIX.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        out.write(PREFIX);
+        out.write(timestamp);
+        out.write(middle);
+        out.write(path);
+        out.write(SUFFIX);
+        out.flush();
+    }
+
+    /**
+     * Pre-encoded body fragment between the timestamp and the path
+     */
+    private byte[] template(ErrorCode errorCode, String message, String detail) {
+        TemplateKey key = new TemplateKey(errorCode, message, detail);
+        byte[] cached = templates.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] encoded = encodeTemplate(errorCode, message, detail);
+        if (templates.size() < MAX_TEMPLATES) {
+            templates.putIfAbsent(key, encoded);
+        }
+        return encoded;
+    }
+
+    private byte[] encodeTemplate(ErrorCode errorCode, String message, String detail) {
+        StringBuilder json = new StringBuilder(160)
+                .append("\",\"error\":{\"code\":\"").append(quote(errorCode.getCode()))
+                .append("\",\"type\":\"").append(quote(errorCode.name())).append('"');
+        if (message != null) {
+            json.append(",\"message\":\"").append(quote(message)).append('"');
+        }
+        if (detail != null) {
+            json.append(",\"detail\":\"").append(quote(detail)).append('"');
+        }
+        json.append(",\"path\":\"");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static char[] quote(String value) {
+        return JsonStringEncoder.getInstance().quoteAsString(value);
+    }
+
+    private record TemplateKey(ErrorCode errorCode, String message, String detail) {
+    }
+}
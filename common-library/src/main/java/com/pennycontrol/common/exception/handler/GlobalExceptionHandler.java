@@ -84,6 +84,25 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error(error));
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRateLimitExceededException(
+            RateLimitExceededException ex,
+            HttpServletRequest request) {
+        log.warn("Rate limit exceeded: {}", ex.getMessage());
+
+        ApiResponse.ErrorDetails error = ApiResponse.ErrorDetails.of(
+                ex.getErrorCode().getCode(),
+                ex.getErrorCode().name(),
+                ex.getMessage(),
+                ex.getErrorCode().getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(error));
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidationException(
             ValidationException ex,
@@ -340,6 +359,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             case RESOURCE_NOT_FOUND -> HttpStatus.NOT_FOUND;
             case VALIDATION_ERROR, INVALID_INPUT, RESOURCE_ALREADY_EXISTS -> HttpStatus.BAD_REQUEST;
             case BUSINESS_RULE_VIOLATION, OPERATION_NOT_ALLOWED -> HttpStatus.CONFLICT;
+            case TOO_MANY_REQUESTS -> HttpStatus.TOO_MANY_REQUESTS;
             case SERVICE_UNAVAILABLE -> HttpStatus.SERVICE_UNAVAILABLE;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
@@ -0,0 +1,26 @@
+package com.pennycontrol.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Republishes relayed events to @EventListener methods in this instance
+ *
+ * Listeners run synchronously on the relay thread, after the originating
+ * transaction committed; a listener exception is a delivery failure.
+ */
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(OutboxEvent event) {
+        applicationEventPublisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,52 @@
+package com.pennycontrol.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends relayed events to a local NDJSON file, one line per delivery
+ *
+ * Meant for tests and local runs that assert on what was relayed; the
+ * payload is embedded as JSON, not as a string.
+ */
+@Slf4j
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        log.info("Outbox file sink writing to {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(OutboxEvent event) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode()
+                .put("id", event.getId())
+                .put("aggregateType", event.getAggregateType())
+                .put("aggregateId", event.getAggregateId())
+                .put("eventType", event.getEventType())
+                .put("createdAt", event.getCreatedAt() != null ? event.getCreatedAt().toString() : null);
+        line.set("payload", objectMapper.readTree(event.getPayload()));
+
+        Files.writeString(path, objectMapper.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,32 @@
+package com.pennycontrol.common.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claimed outbox row as handed to sinks
+ *
+ * Delivery is at least once: a sink can see the same id again after a
+ * failure elsewhere in the batch, so consumers deduplicate by id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    private long id;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+
+    /**
+     * JSON document as written by the producer
+     */
+    private String payload;
+    private LocalDateTime createdAt;
+    private int attempts;
+}
@@ -0,0 +1,60 @@
+package com.pennycontrol.common.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+    /**
+     * Run the relay in this instance; events are still written when disabled
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Delay between polls when the outbox is drained; commits in this instance wake the relay early
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Events claimed per transaction
+     */
+    private int batchSize = 100;
+
+    /**
+     * Retry delay after the first failed delivery, doubled per attempt
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of the retry delay
+     */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Failed deliveries after which an event is parked as dead (dead_at) instead of retried
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Published events older than this are deleted
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Interval of the retention cleanup
+     */
+    private Duration cleanupInterval = Duration.ofHours(1);
+
+    /**
+     * Republish relayed events as Spring application events
+     */
+    private boolean inProcessSinkEnabled = true;
+
+    /**
+     * Append relayed events as NDJSON to this file (for tests and local runs); unset disables the sink
+     */
+    private String fileSinkPath;
+}
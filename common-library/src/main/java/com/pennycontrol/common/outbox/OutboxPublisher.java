@@ -0,0 +1,75 @@
+package com.pennycontrol.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes change events to the outbox inside the caller's transaction
+ *
+ * The event commits or rolls back with the change it describes. Writers of
+ * the same aggregate serialize on a transaction-scoped advisory lock taken
+ * before the insert, so outbox ids follow commit order per aggregate and the
+ * relay can deliver in id order.
+ */
+@Slf4j
+public class OutboxPublisher {
+
+    private static final String LOCK_AGGREGATE_SQL = "SELECT pg_advisory_xact_lock(hashtextextended(?, 0))";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, CAST(? AS jsonb))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OutboxRelay> outboxRelay;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                           ObjectProvider<OutboxRelay> outboxRelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Record an event; must run inside the transaction that makes the change
+     *
+     * @param payload serialized with the application ObjectMapper
+     */
+    public void publish(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox event " + eventType
+                    + " must be written in the transaction of the change it describes");
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Cannot serialize outbox payload of " + eventType, ex);
+        }
+
+        String id = String.valueOf(aggregateId);
+        jdbcTemplate.query(LOCK_AGGREGATE_SQL, rs -> { }, "outbox:" + aggregateType + ":" + id);
+        jdbcTemplate.update(INSERT_SQL, aggregateType, id, eventType, json);
+
+        // Deliver right after commit instead of waiting for the next poll
+        OutboxRelay relay = outboxRelay.getIfAvailable();
+        if (relay != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.wakeUp();
+                }
+            });
+        }
+
+        log.debug("Outbox event {} recorded for {} {}", eventType, aggregateType, id);
+    }
+}
@@ -0,0 +1,364 @@
+package com.pennycontrol.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers outbox events to every OutboxSink
+ *
+ * Each batch runs in one transaction: claim pending rows with
+ * FOR UPDATE SKIP LOCKED, dispatch them, then mark them published or
+ * schedule a retry. Relays in other instances skip the claimed rows and
+ * take the next ones.
+ *
+ * Ordering per aggregate: an event is only dispatched when no earlier event
+ * of its aggregate is still pending. Events behind a retrying or dead event
+ * are excluded before the LIMIT, so a stuck aggregate never occupies batch
+ * slots; events behind one claimed by another relay are claimed but held
+ * back. Within a batch, a failed event holds back the rest of its aggregate.
+ * Other aggregates keep flowing.
+ *
+ * After outbox.max-attempts failed deliveries an event is parked (dead_at)
+ * and stays there, still holding back its aggregate, until an operator
+ * requeues or discards it (see V11__outbox_dead_letter.sql).
+ *
+ * Metrics: outbox.events.published (per event type), outbox.events.failed
+ * (per event type and sink), outbox.events.dead (per event type),
+ * outbox.relay.batch (duration), outbox.relay.batch.size, and the
+ * outbox.pending / outbox.pending.oldest.age.seconds / outbox.dead backlog gauges.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final long BACKLOG_REFRESH_MILLIS = 15_000;
+
+    /**
+     * Claims a batch and flags the events whose aggregate has an earlier
+     * pending event outside it (held_back); those are locked but not dispatched
+     */
+    private static final String CLAIM_SQL = """
+            WITH claimed AS (
+                SELECT id, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at, attempts
+                FROM outbox e
+                WHERE published_at IS NULL
+                  AND dead_at IS NULL
+                  AND (next_attempt_at IS NULL OR next_attempt_at <= now())
+                  AND NOT EXISTS (
+                      SELECT 1 FROM outbox b
+                      WHERE b.published_at IS NULL
+                        AND b.aggregate_type = e.aggregate_type
+                        AND b.aggregate_id = e.aggregate_id
+                        AND b.id < e.id
+                        AND (b.dead_at IS NOT NULL OR b.next_attempt_at > now())
+                  )
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            SELECT c.*, EXISTS (
+                SELECT 1 FROM outbox o
+                WHERE o.published_at IS NULL
+                  AND o.aggregate_type = c.aggregate_type
+                  AND o.aggregate_id = c.aggregate_id
+                  AND o.id < c.id
+                  AND o.id NOT IN (SELECT id FROM claimed)
+            ) AS held_back
+            FROM claimed c
+            ORDER BY c.id
+            """;
+
+    private static final String MARK_PUBLISHED_SQL = """
+            UPDATE outbox
+            SET published_at = now(), attempts = attempts + 1, next_attempt_at = NULL, last_error = NULL
+            WHERE id = ANY(?)
+            """;
+
+    private static final String MARK_FAILED_SQL = """
+            UPDATE outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = now() + ? * INTERVAL '1 millisecond',
+                last_error = ?
+            WHERE id = ?
+            """;
+
+    private static final String MARK_DEAD_SQL = """
+            UPDATE outbox
+            SET attempts = attempts + 1, dead_at = now(), next_attempt_at = NULL, last_error = ?
+            WHERE id = ?
+            """;
+
+    private static final String BACKLOG_SQL = """
+            SELECT count(*) FILTER (WHERE dead_at IS NULL) AS pending,
+                   count(*) FILTER (WHERE dead_at IS NOT NULL) AS dead,
+                   coalesce(EXTRACT(EPOCH FROM now() - min(created_at) FILTER (WHERE dead_at IS NULL)), 0)::BIGINT
+                       AS oldest_age
+            FROM outbox
+            WHERE published_at IS NULL
+            """;
+
+    private static final String CLEANUP_SQL =
+            "DELETE FROM outbox WHERE published_at < now() - ? * INTERVAL '1 millisecond'";
+
+    private static final RowMapper<ClaimedEvent> ROW_MAPPER = (rs, rowNum) -> new ClaimedEvent(
+            OutboxEvent.builder()
+                    .id(rs.getLong("id"))
+                    .aggregateType(rs.getString("aggregate_type"))
+                    .aggregateId(rs.getString("aggregate_id"))
+                    .eventType(rs.getString("event_type"))
+                    .payload(rs.getString("payload"))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .attempts(rs.getInt("attempts"))
+                    .build(),
+            rs.getBoolean("held_back"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final OutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+    private long lastBacklogRefresh;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       List<OutboxSink> sinks, OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = List.copyOf(sinks);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Claim, dispatch and mark one outbox batch")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Events dispatched per outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting for delivery, excluding dead ones")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending.oldest.age.seconds", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead", dead, AtomicLong::get)
+                .description("Outbox events parked after outbox.max-attempts failed deliveries")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long pollMillis = properties.getPollInterval().toMillis();
+        long cleanupMillis = properties.getCleanupInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::drainSafely, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::cleanupSafely, cleanupMillis, cleanupMillis, TimeUnit.MILLISECONDS);
+
+        log.info("Outbox relay started with sinks {}", sinks.stream().map(OutboxSink::name).toList());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Drain soon on the relay thread; called after commits that wrote events
+     */
+    public void wakeUp() {
+        if (running && wakeUpScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainSafely);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down; the events are relayed by the next instance to poll
+                wakeUpScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Relay batches until one comes back short
+     * A full batch in which nothing could be attempted (all held back) also ends the pass
+     *
+     * @return events published
+     */
+    public int drain() {
+        wakeUpScheduled.set(false);
+        int published = 0;
+        BatchResult result;
+        do {
+            result = relayBatch();
+            published += result.published();
+        } while (running && result.claimed() >= properties.getBatchSize() && result.attempted() > 0);
+
+        if (System.currentTimeMillis() - lastBacklogRefresh >= BACKLOG_REFRESH_MILLIS) {
+            refreshBacklog();
+        }
+        return published;
+    }
+
+    private BatchResult relayBatch() {
+        long start = System.nanoTime();
+        BatchResult result = transactionTemplate.execute(status -> {
+            List<ClaimedEvent> claimed = jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, properties.getBatchSize());
+            if (claimed.isEmpty()) {
+                return new BatchResult(0, 0, 0);
+            }
+
+            int attempted = 0;
+            List<Long> publishedIds = new ArrayList<>();
+            Set<String> blockedAggregates = new HashSet<>();
+            for (ClaimedEvent candidate : claimed) {
+                OutboxEvent event = candidate.event();
+                String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+                if (candidate.heldBack() || blockedAggregates.contains(aggregate)) {
+                    continue;
+                }
+                attempted++;
+                String sinkName = null;
+                try {
+                    for (OutboxSink sink : sinks) {
+                        sinkName = sink.name();
+                        sink.publish(event);
+                    }
+                    publishedIds.add(event.getId());
+                    Counter.builder("outbox.events.published")
+                            .tag("event_type", event.getEventType())
+                            .register(meterRegistry)
+                            .increment();
+                } catch (Exception ex) {
+                    blockedAggregates.add(aggregate);
+                    markFailed(event, sinkName, ex);
+                }
+            }
+
+            if (!publishedIds.isEmpty()) {
+                jdbcTemplate.update(MARK_PUBLISHED_SQL, ps -> ps.setArray(1,
+                        ps.getConnection().createArrayOf("bigint", publishedIds.toArray())));
+            }
+            return new BatchResult(claimed.size(), attempted, publishedIds.size());
+        });
+
+        if (result != null && result.claimed() > 0) {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(result.published());
+            log.debug("Relayed {} of {} claimed outbox events in {} ms",
+                    result.published(), result.claimed(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return result != null ? result : new BatchResult(0, 0, 0);
+    }
+
+    private void markFailed(OutboxEvent event, String sinkName, Exception ex) {
+        String error = sinkName + ": " + ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        Counter.builder("outbox.events.failed")
+                .tag("event_type", event.getEventType())
+                .tag("sink", sinkName)
+                .register(meterRegistry)
+                .increment();
+
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            jdbcTemplate.update(MARK_DEAD_SQL, error, event.getId());
+            Counter.builder("outbox.events.dead")
+                    .tag("event_type", event.getEventType())
+                    .register(meterRegistry)
+                    .increment();
+            log.error("Outbox event {} ({} for {} {}) parked as dead after {} attempts; "
+                            + "later events of the aggregate are held until it is requeued or discarded: {}",
+                    event.getId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(),
+                    attempts, error);
+            return;
+        }
+
+        long backoffMillis = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(event.getAttempts(), 20));
+        jdbcTemplate.update(MARK_FAILED_SQL, backoffMillis, error, event.getId());
+        log.warn("Outbox event {} ({} for {} {}) failed in sink {} on attempt {}, retrying in {} ms: {}",
+                event.getId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(),
+                sinkName, attempts, backoffMillis, error);
+    }
+
+    private void refreshBacklog() {
+        jdbcTemplate.query(BACKLOG_SQL, rs -> {
+            pending.set(rs.getLong("pending"));
+            dead.set(rs.getLong("dead"));
+            oldestPendingAgeSeconds.set(rs.getLong("oldest_age"));
+        });
+        lastBacklogRefresh = System.currentTimeMillis();
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (Exception ex) {
+            log.warn("Outbox relay pass failed: {}", ex.getMessage());
+        }
+    }
+
+    private void cleanupSafely() {
+        try {
+            int deleted = jdbcTemplate.update(CLEANUP_SQL, properties.getRetention().toMillis());
+            if (deleted > 0) {
+                log.info("Deleted {} published outbox events older than {}", deleted, properties.getRetention());
+            }
+        } catch (Exception ex) {
+            log.warn("Outbox cleanup failed: {}", ex.getMessage());
+        }
+    }
+
+    private record ClaimedEvent(OutboxEvent event, boolean heldBack) {
+    }
+
+    /**
+     * @param claimed   rows locked by the claim, including held-back ones
+     * @param attempted events handed to the sinks
+     * @param published events delivered to every sink
+     */
+    private record BatchResult(int claimed, int attempted, int published) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.pennycontrol.common.outbox;
+
+/**
+ * Destination of relayed outbox events
+ *
+ * Every OutboxSink bean receives every event, in id order per aggregate. An
+ * exception marks the event (and the rest of its aggregate in the batch) for
+ * retry with backoff; later aggregates in the batch are unaffected.
+ */
+public interface OutboxSink {
+
+    /**
+     * Name used in logs and metric tags
+     */
+    String name();
+
+    void publish(OutboxEvent event) throws Exception;
+}
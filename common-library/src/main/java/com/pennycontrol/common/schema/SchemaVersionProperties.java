@@ -0,0 +1,24 @@
+package com.pennycontrol.common.schema;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "schema-version")
+public class SchemaVersionProperties {
+
+    /**
+     * Check the schema version on startup
+     */
+    private boolean enabled = true;
+
+    /**
+     * Lowest migration version this build needs, e.g. "8"
+     */
+    private String required;
+
+    /**
+     * Flyway history table written by db-migrator
+     */
+    private String historyTable = "flyway_schema_history";
+}
@@ -0,0 +1,75 @@
+package com.pennycontrol.common.schema;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Fails startup unless db-migrator has applied at least the required migration
+ *
+ * Services no longer run Flyway; this replaces migration and validation
+ * with one query against the Flyway history table.
+ */
+@Slf4j
+public class SchemaVersionVerifier implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchemaVersionProperties properties;
+
+    public SchemaVersionVerifier(JdbcTemplate jdbcTemplate, SchemaVersionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled() || properties.getRequired() == null) {
+            return;
+        }
+
+        String current = currentVersion();
+        if (current == null || compareVersions(current, properties.getRequired()) < 0) {
+            throw new IllegalStateException("Database schema is at version " + current
+                    + " but " + properties.getRequired() + " is required; run db-migrator first");
+        }
+
+        log.info("Database schema at version {} (requires {})", current, properties.getRequired());
+    }
+
+    private String currentVersion() {
+        List<String> versions;
+        try {
+            versions = jdbcTemplate.queryForList(
+                    "SELECT version FROM " + properties.getHistoryTable() + " WHERE success AND version IS NOT NULL",
+                    String.class);
+        } catch (DataAccessException ex) {
+            throw new IllegalStateException("Cannot read " + properties.getHistoryTable()
+                    + "; run db-migrator first", ex);
+        }
+
+        return versions.stream()
+                .reduce((a, b) -> compareVersions(a, b) >= 0 ? a : b)
+                .orElse(null);
+    }
+
+    /**
+     * Compares Flyway versions part by part ("1.10" > "1.9", "2" = "2.0")
+     */
+    static int compareVersions(String a, String b) {
+        String[] left = a.split("[._]");
+        String[] right = b.split("[._]");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            BigInteger l = i < left.length ? new BigInteger(left[i]) : BigInteger.ZERO;
+            BigInteger r = i < right.length ? new BigInteger(right[i]) : BigInteger.ZERO;
+            int cmp = l.compareTo(r);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+}
@@ -1,6 +1,7 @@
 package com.pennycontrol.common.security;
 
 import com.pennycontrol.common.annotation.RequireRole;
+import com.pennycontrol.common.diagnostics.jfr.AccessDeniedEvent;
 import com.pennycontrol.common.dto.UserPrincipal;
 import com.pennycontrol.common.exception.ErrorCode;
 import com.pennycontrol.common.exception.UnauthorizedException;
@@ -10,6 +11,7 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aot.hint.annotation.Reflective;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -26,6 +28,7 @@ public class RoleCheckAspect {
      * Intercepts all methods annotated with @RequireRole
      * Executes BEFORE the actual method
      */
+    @Reflective
     @Before("@annotation(com.pennycontrol.common.annotation.RequireRole)")
     public void checkRole(JoinPoint joinPoint) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
@@ -61,6 +64,14 @@ public class RoleCheckAspect {
                         method.getDeclaringClass().getSimpleName(),
                         method.getName());
 
+                AccessDeniedEvent event = new AccessDeniedEvent();
+                if (event.shouldCommit()) {
+                    event.userId = currentUser.getId() != null ? currentUser.getId() : 0L;
+                    event.method = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+                    event.requiredRoles = String.join(",", requiredRoles);
+                    event.commit();
+                }
+
                 throw new UnauthorizedException(
                         ErrorCode.ACCESS_DENIED,
                         "You don't have the required role(s) to access this resource"
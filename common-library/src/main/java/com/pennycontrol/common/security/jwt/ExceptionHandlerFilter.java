@@ -1,9 +1,8 @@
 package com.pennycontrol.common.security.jwt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.pennycontrol.common.dto.ApiResponse;
 import com.pennycontrol.common.exception.ErrorCode;
 import com.pennycontrol.common.exception.UnauthorizedException;
+import com.pennycontrol.common.exception.handler.ErrorResponseWriter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +10,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -19,7 +17,7 @@ import java.io.IOException;
 @Slf4j
 @RequiredArgsConstructor
 public class ExceptionHandlerFilter extends OncePerRequestFilter {
-    private final ObjectMapper objectMapper;
+    private final ErrorResponseWriter errorResponseWriter;
 
     @Override
     protected void doFilterInternal(
@@ -30,35 +28,15 @@ public class ExceptionHandlerFilter extends OncePerRequestFilter {
         try {
             filterChain.doFilter(request, response);
         } catch (UnauthorizedException ex) {
-            log.error("Unauthorized exception in filter: {}", ex.getMessage());
-            handleException(response, request, ex.getErrorCode(), ex.getMessage(), HttpStatus.UNAUTHORIZED);
+            // Token rejections are logged rate-limited by TokenRejectionMonitor
+            log.debug("Unauthorized exception in filter: {}", ex.getMessage());
+            errorResponseWriter.write(request, response, HttpStatus.UNAUTHORIZED,
+                    ex.getErrorCode(), ex.getMessage(), ex.getErrorCode().getMessage());
         } catch (Exception ex) {
             log.error("Unexpected exception in filter", ex);
-            handleException(response, request, ErrorCode.INTERNAL_SERVER_ERROR,
-                    "An error occurred during authentication", HttpStatus.INTERNAL_SERVER_ERROR);
+            errorResponseWriter.write(request, response, HttpStatus.INTERNAL_SERVER_ERROR,
+                    ErrorCode.INTERNAL_SERVER_ERROR, "An error occurred during authentication",
+                    ErrorCode.INTERNAL_SERVER_ERROR.getMessage());
         }
     }
-
-    private void handleException(
-            HttpServletResponse response,
-            HttpServletRequest request,
-            ErrorCode errorCode,
-            String message,
-            HttpStatus status) throws IOException {
-
-        ApiResponse.ErrorDetails error = ApiResponse.ErrorDetails.of(
-                errorCode.getCode(),
-                errorCode.name(),
-                message,
-                errorCode.getMessage(),
-                request.getRequestURI()
-        );
-
-        ApiResponse<Void> apiResponse = ApiResponse.error(error);
-
-        response.setStatus(status.value());
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setCharacterEncoding("UTF-8");
-        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
-    }
 }
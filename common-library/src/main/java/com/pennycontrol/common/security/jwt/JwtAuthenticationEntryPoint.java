@@ -1,13 +1,12 @@
 package com.pennycontrol.common.security.jwt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.pennycontrol.common.dto.ApiResponse;
 import com.pennycontrol.common.exception.ErrorCode;
+import com.pennycontrol.common.exception.handler.ErrorResponseWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 
@@ -21,7 +20,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper;
+    private final ErrorResponseWriter errorResponseWriter;
 
     @Override
     public void commence(
@@ -31,19 +30,13 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
         log.warn("Unauthorized access attempt to: {} {}", request.getMethod(), request.getRequestURI());
 
-        ApiResponse.ErrorDetails error = ApiResponse.ErrorDetails.of(
-                ErrorCode.UNAUTHORIZED.getCode(),
-                ErrorCode.UNAUTHORIZED.name(),
+        errorResponseWriter.write(
+                request,
+                response,
+                HttpStatus.UNAUTHORIZED,
+                ErrorCode.UNAUTHORIZED,
                 "Authentication required. Please provide a valid access token.",
-                "Access token is missing or invalid in the Authorization header",
-                request.getRequestURI()
+                "Access token is missing or invalid in the Authorization header"
         );
-
-        ApiResponse<Void> apiResponse = ApiResponse.error(error);
-
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setCharacterEncoding("UTF-8");
-        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
     }
 }
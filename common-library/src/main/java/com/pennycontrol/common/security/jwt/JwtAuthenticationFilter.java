@@ -1,11 +1,15 @@
 package com.pennycontrol.common.security.jwt;
 
 import com.pennycontrol.common.dto.UserPrincipal;
+import com.pennycontrol.common.exception.ErrorCode;
+import com.pennycontrol.common.exception.UnauthorizedException;
+import com.pennycontrol.common.security.revocation.TokenRevocationRegistry;
+import com.pennycontrol.common.util.RequestUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,10 +19,36 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Slf4j
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtProperties jwtProperties;
+    private final RejectedTokenCache rejectedTokenCache;
+    private final TokenRejectionMonitor tokenRejectionMonitor;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    public JwtAuthenticationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            JwtProperties jwtProperties,
+            RejectedTokenCache rejectedTokenCache,
+            TokenRejectionMonitor tokenRejectionMonitor) {
+        this(jwtTokenProvider, jwtProperties, rejectedTokenCache, tokenRejectionMonitor, null);
+    }
+
+    /**
+     * @param tokenRevocationRegistry revocation epochs, or null when revocation is not enabled
+     */
+    public JwtAuthenticationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            JwtProperties jwtProperties,
+            RejectedTokenCache rejectedTokenCache,
+            TokenRejectionMonitor tokenRejectionMonitor,
+            TokenRevocationRegistry tokenRevocationRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.jwtProperties = jwtProperties;
+        this.rejectedTokenCache = rejectedTokenCache;
+        this.tokenRejectionMonitor = tokenRejectionMonitor;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -29,18 +59,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                UserPrincipal userPrincipal = jwtTokenProvider.getUserPrincipalFromToken(jwt);
-
-                JwtAuthenticationToken authentication = new JwtAuthenticationToken(
-                        userPrincipal,
-                        jwt,
-                        userPrincipal.getAuthorities()
-                );
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set authentication for user: {}", userPrincipal.getUsername());
+            if (StringUtils.hasText(jwt)) {
+                authenticate(jwt, request);
             }
+        } catch (UnauthorizedException ex) {
+            // Rejections are logged (rate-limited) by TokenRejectionMonitor
+            SecurityContextHolder.clearContext();
+            // Exception will be caught by ExceptionHandlerFilter
+            throw ex;
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
             // Clear security context on authentication failure
@@ -52,6 +78,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Validate the token and populate the security context
+     * Tokens rejected recently are answered from the negative cache without parsing
+     */
+    private void authenticate(String jwt, HttpServletRequest request) {
+        RejectedTokenCache.TokenDigest digest = null;
+        if (rejectedTokenCache.isEnabled()) {
+            digest = rejectedTokenCache.digest(jwt);
+            UnauthorizedException cached = rejectedTokenCache.lookup(digest);
+            if (cached != null) {
+                tokenRejectionMonitor.recordRejection(RequestUtils.extractClientIp(request), cached.getMessage(), true);
+                throw cached;
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.validateAndParseClaims(jwt);
+            checkNotRevoked(claims);
+        } catch (UnauthorizedException ex) {
+            if (digest != null) {
+                rejectedTokenCache.remember(digest, ex);
+            }
+            tokenRejectionMonitor.recordRejection(RequestUtils.extractClientIp(request), ex.getMessage(), false);
+            throw ex;
+        }
+
+        UserPrincipal userPrincipal = jwtTokenProvider.getUserPrincipalFromClaims(claims);
+
+        JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                userPrincipal,
+                jwt,
+                userPrincipal.getAuthorities()
+        );
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        log.debug("Set authentication for user: {}", userPrincipal.getUsername());
+    }
+
+    /**
+     * Reject tokens issued before the user's revocation epoch (in-memory lookup)
+     * Epochs only move forward, so such rejections are safe to negative-cache
+     */
+    private void checkNotRevoked(Claims claims) {
+        if (tokenRevocationRegistry == null || claims.getIssuedAt() == null) {
+            return;
+        }
+        Long userId = claims.get("userId", Long.class);
+        if (userId != null && tokenRevocationRegistry.isRevoked(userId, claims.getIssuedAt().getTime())) {
+            throw UnauthorizedException.withoutStackTrace(ErrorCode.INVALID_TOKEN, "Token has been revoked");
+        }
+    }
+
     /**
      * Extract JWT token from request header
      */
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "jwt")
@@ -14,4 +16,31 @@ public class JwtProperties {
     private String issuer;
     private String tokenPrefix;
     private String headerName;
+    private Rejection rejection = new Rejection();
+
+    /**
+     * Handling of rejected bearer tokens
+     */
+    @Data
+    public static class Rejection {
+        /**
+         * How long a rejected token is answered from the negative cache
+         */
+        private Duration cacheTtl = Duration.ofSeconds(60);
+
+        /**
+         * Maximum number of rejected token digests kept (0 disables the cache)
+         */
+        private int cacheMaxEntries = 10_000;
+
+        /**
+         * Minimum interval between log lines for the same rejection reason
+         */
+        private Duration logInterval = Duration.ofSeconds(10);
+
+        /**
+         * Number of striped per-source counters (rounded down to a power of two)
+         */
+        private int sourceCounterStripes = 4096;
+    }
 }
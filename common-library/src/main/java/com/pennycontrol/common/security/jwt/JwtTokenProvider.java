@@ -1,5 +1,6 @@
 package com.pennycontrol.common.security.jwt;
 
+import com.pennycontrol.common.diagnostics.jfr.JwtTokenEvent;
 import com.pennycontrol.common.dto.UserPrincipal;
 import com.pennycontrol.common.security.jwt.JwtProperties;
 import com.pennycontrol.common.exception.ErrorCode;
@@ -21,33 +22,44 @@ import java.util.Set;
 @Slf4j
 @RequiredArgsConstructor
 public class JwtTokenProvider {
+    private static final String ACCESS_TOKEN_TYPE = "access";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+
     private final JwtProperties jwtProperties;
     private SecretKey secretKey;
+    private JwtParser jwtParser;
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        // JwtParser is immutable and thread-safe, build it once
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     /**
      * Generate access token
      */
     public String generateAccessToken(UserPrincipal userPrincipal) {
-        return generateToken(userPrincipal, jwtProperties.getAccessTokenExpiration());
+        return generateToken(userPrincipal, jwtProperties.getAccessTokenExpiration(), ACCESS_TOKEN_TYPE);
     }
 
     /**
      * Generate refresh token
      */
     public String generateRefreshToken(UserPrincipal userPrincipal) {
-        return generateToken(userPrincipal, jwtProperties.getRefreshTokenExpiration());
+        return generateToken(userPrincipal, jwtProperties.getRefreshTokenExpiration(), REFRESH_TOKEN_TYPE);
     }
 
     /**
      * Generate token with custom expiration
      */
-    private String generateToken(UserPrincipal userPrincipal, long expiration) {
+    private String generateToken(UserPrincipal userPrincipal, long expiration, String tokenType) {
+        JwtTokenEvent event = new JwtTokenEvent();
+        event.begin();
+
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
@@ -55,7 +67,7 @@ public class JwtTokenProvider {
         claims.put("userId", userPrincipal.getId());
         claims.put("roles", userPrincipal.getRoles());
 
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .subject(userPrincipal.getEmail()) // Use email as subject
                 .claims(claims)
                 .issuer(jwtProperties.getIssuer())
@@ -63,6 +75,14 @@ public class JwtTokenProvider {
                 .expiration(expiryDate)
                 .signWith(secretKey, Jwts.SIG.HS512)
                 .compact();
+
+        event.operation = JwtTokenEvent.SIGN;
+        event.tokenType = tokenType;
+        event.userId = userPrincipal.getId() != null ? userPrincipal.getId() : 0L;
+        event.success = true;
+        event.commit();
+
+        return token;
     }
 
     /**
@@ -95,8 +115,13 @@ public class JwtTokenProvider {
      * Extract UserPrincipal from token
      */
     public UserPrincipal getUserPrincipalFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
+        return getUserPrincipalFromClaims(getClaimsFromToken(token));
+    }
 
+    /**
+     * Build UserPrincipal from already validated claims
+     */
+    public UserPrincipal getUserPrincipalFromClaims(Claims claims) {
         Long userId = claims.get("userId", Long.class);
         String email = claims.getSubject();
         @SuppressWarnings("unchecked")
@@ -117,24 +142,43 @@ public class JwtTokenProvider {
      * Validate token
      */
     public boolean validateToken(String token) {
+        validateAndParseClaims(token);
+        return true;
+    }
+
+    /**
+     * Validate token and return its claims, so callers parse and verify only once
+     * Rejections are thrown as stackless UnauthorizedException with INVALID_TOKEN
+     */
+    public Claims validateAndParseClaims(String token) {
+        JwtTokenEvent event = new JwtTokenEvent();
+        event.begin();
+        event.operation = JwtTokenEvent.VERIFY;
+        event.tokenType = ACCESS_TOKEN_TYPE;
+
         try {
-            getClaimsFromToken(token);
-            return true;
+            Claims claims = getClaimsFromToken(token);
+            Long userId = claims.get("userId", Long.class);
+            event.userId = userId != null ? userId : 0L;
+            event.success = true;
+            return claims;
         } catch (SignatureException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
-            throw new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Invalid JWT signature");
+            log.debug("Invalid JWT signature: {}", ex.getMessage());
+            throw UnauthorizedException.withoutStackTrace(ErrorCode.INVALID_TOKEN, "Invalid JWT signature");
         } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
-            throw new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Invalid JWT token");
+            log.debug("Invalid JWT token: {}", ex.getMessage());
+            throw UnauthorizedException.withoutStackTrace(ErrorCode.INVALID_TOKEN, "Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token: {}", ex.getMessage());
-            throw new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Expired JWT token");
+            log.debug("Expired JWT token: {}", ex.getMessage());
+            throw UnauthorizedException.withoutStackTrace(ErrorCode.INVALID_TOKEN, "Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token: {}", ex.getMessage());
-            throw new UnauthorizedException(ErrorCode.INVALID_TOKEN, "Unsupported JWT token");
+            log.debug("Unsupported JWT token: {}", ex.getMessage());
+            throw UnauthorizedException.withoutStackTrace(ErrorCode.INVALID_TOKEN, "Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
-            throw new UnauthorizedException(ErrorCode.INVALID_TOKEN, "JWT claims string is empty");
+            log.debug("JWT claims string is empty: {}", ex.getMessage());
+            throw UnauthorizedException.withoutStackTrace(ErrorCode.INVALID_TOKEN, "JWT claims string is empty");
+        } finally {
+            event.commit();
         }
     }
 
@@ -158,9 +202,7 @@ public class JwtTokenProvider {
      * Parse claims from token
      */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
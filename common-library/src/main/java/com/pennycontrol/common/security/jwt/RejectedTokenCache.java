@@ -0,0 +1,97 @@
+package com.pennycontrol.common.security.jwt;
+
+import com.pennycontrol.common.exception.UnauthorizedException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, bounded negative cache of recently rejected bearer tokens
+ *
+ * Tokens are stored as a 128-bit prefix of their SHA-256 digest, never in clear.
+ * A replayed bad token is rejected with the original (stackless) exception
+ * without being parsed or signature-checked again.
+ */
+public class RejectedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    private final Map<TokenDigest, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public RejectedTokenCache(JwtProperties.Rejection rejection) {
+        this.ttlNanos = rejection.getCacheTtl().toNanos();
+        this.maxEntries = rejection.getCacheMaxEntries();
+    }
+
+    /**
+     * Whether negative caching is enabled
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0 && ttlNanos > 0;
+    }
+
+    /**
+     * Compute the cache key for a token
+     */
+    public TokenDigest digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new TokenDigest(hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Previous rejection for this token, or null if none is cached
+     */
+    public UnauthorizedException lookup(TokenDigest digest) {
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.cachedAtNanos > ttlNanos) {
+            entries.remove(digest, entry);
+            return null;
+        }
+        return entry.rejection;
+    }
+
+    /**
+     * Remember a rejection for this token
+     */
+    public void remember(TokenDigest digest, UnauthorizedException rejection) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(digest, new Entry(rejection, System.nanoTime()));
+    }
+
+    /**
+     * Drop expired entries; if the cache is still full, drop everything
+     * so memory stays bounded under a flood of distinct tokens
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> now - e.getValue().cachedAtNanos > ttlNanos);
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    public record TokenDigest(long high, long low) {
+    }
+
+    private record Entry(UnauthorizedException rejection, long cachedAtNanos) {
+    }
+}
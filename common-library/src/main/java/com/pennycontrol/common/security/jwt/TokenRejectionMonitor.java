@@ -0,0 +1,116 @@
+package com.pennycontrol.common.security.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks bearer token rejections and keeps their logging flat under attack
+ *
+ * Per-source counts live in a fixed array of lock-free counters striped by a hash
+ * of the client IP, so memory does not grow with the number of sources (distinct
+ * IPs may share a stripe, which makes counts approximate upper bounds). Counters
+ * are reset every log interval.
+ *
+ * Log lines are deduplicated by rejection reason: at most one line per reason and
+ * interval, carrying the number of rejections folded into it.
+ */
+@Slf4j
+public class TokenRejectionMonitor {
+
+    private static final int MAX_REASONS = 64;
+    private static final String OTHER_REASON = "Other";
+
+    private final AtomicLongArray sourceCounters;
+    private final int stripeMask;
+    private final long logIntervalNanos;
+    private final AtomicLong sourceWindowStart;
+    private final LongAdder totalRejections = new LongAdder();
+    private final Map<String, LogWindow> logWindows = new ConcurrentHashMap<>();
+
+    public TokenRejectionMonitor(JwtProperties.Rejection rejection) {
+        int stripes = Integer.highestOneBit(Math.max(1, rejection.getSourceCounterStripes()));
+        this.sourceCounters = new AtomicLongArray(stripes);
+        this.stripeMask = stripes - 1;
+        this.logIntervalNanos = rejection.getLogInterval().toNanos();
+        this.sourceWindowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Record one rejected token from the given client
+     */
+    public void recordRejection(String clientIp, String reason, boolean cached) {
+        totalRejections.increment();
+        long now = System.nanoTime();
+        rollSourceWindow(now);
+        long sourceCount = sourceCounters.incrementAndGet(stripe(clientIp));
+
+        LogWindow window = logWindow(reason);
+        window.rejections.increment();
+        if (cached) {
+            window.cachedRejections.increment();
+        }
+
+        long lastLogged = window.lastLoggedNanos.get();
+        if (now - lastLogged >= logIntervalNanos && window.lastLoggedNanos.compareAndSet(lastLogged, now)) {
+            long count = window.rejections.sumThenReset();
+            long cachedCount = window.cachedRejections.sumThenReset();
+            log.warn("Rejected bearer token: {} ({} rejections, {} from negative cache, in the last {}s; latest source {} with ~{} rejections)",
+                    reason, count, cachedCount, logIntervalNanos / 1_000_000_000L, clientIp, sourceCount);
+        }
+    }
+
+    /**
+     * Approximate number of rejections from a client in the current window
+     */
+    public long rejectionsFromSource(String clientIp) {
+        return sourceCounters.get(stripe(clientIp));
+    }
+
+    /**
+     * Total rejections since startup
+     */
+    public long totalRejections() {
+        return totalRejections.sum();
+    }
+
+    private void rollSourceWindow(long now) {
+        long start = sourceWindowStart.get();
+        if (now - start >= logIntervalNanos && sourceWindowStart.compareAndSet(start, now)) {
+            for (int i = 0; i < sourceCounters.length(); i++) {
+                sourceCounters.set(i, 0L);
+            }
+        }
+    }
+
+    private int stripe(String clientIp) {
+        int hash = clientIp != null ? clientIp.hashCode() : 0;
+        return (hash ^ (hash >>> 16)) & stripeMask;
+    }
+
+    private LogWindow logWindow(String reason) {
+        String key = reason != null ? reason : OTHER_REASON;
+        LogWindow window = logWindows.get(key);
+        if (window == null) {
+            if (logWindows.size() >= MAX_REASONS) {
+                key = OTHER_REASON;
+            }
+            window = logWindows.computeIfAbsent(key, k -> new LogWindow(System.nanoTime() - logIntervalNanos));
+        }
+        return window;
+    }
+
+    private static final class LogWindow {
+        private final AtomicLong lastLoggedNanos;
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder cachedRejections = new LongAdder();
+
+        private LogWindow(long lastLoggedNanos) {
+            this.lastLoggedNanos = new AtomicLong(lastLoggedNanos);
+        }
+    }
+}
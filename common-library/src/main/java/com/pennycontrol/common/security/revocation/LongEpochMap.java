@@ -0,0 +1,159 @@
+package com.pennycontrol.common.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Primitive long-to-long open-addressing map with lock-free reads
+ *
+ * Built for a read-mostly workload: every authenticated request performs a
+ * lookup, while writes only happen on logout or account changes. There is a
+ * single writer at a time (guarded by a lock); readers never block. A slot's
+ * value is published before its key, so a reader that sees a key also sees
+ * its value. Values only ever grow, so a reader racing a resize can at worst
+ * observe an epoch that is a moment stale.
+ *
+ * Key 0 marks an empty slot; user IDs start at 1. Removal rebuilds the table
+ * without the dropped entries and publishes it in one volatile write, so
+ * probe chains are never broken under a concurrent reader.
+ */
+final class LongEpochMap {
+
+    private static final long EMPTY = 0L;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Object writeLock = new Object();
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private int size;
+
+    /**
+     * Epoch for the key, or 0 if none is recorded
+     */
+    long get(long key) {
+        return table.get(key);
+    }
+
+    /**
+     * Record an epoch, keeping the larger value if one already exists
+     */
+    void raise(long key, long value) {
+        if (key == EMPTY) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            Table current = table;
+            if ((size + 1) * 2 > current.capacity()) {
+                current = current.resize();
+                table = current;
+            }
+            if (current.putMax(key, value)) {
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Drop every entry whose value is below the threshold
+     *
+     * @return number of entries removed
+     */
+    int removeBelow(long threshold) {
+        synchronized (writeLock) {
+            Table current = table;
+            Table retained = new Table(current.capacity());
+            int kept = current.copyAtLeast(threshold, retained);
+            int removed = size - kept;
+            if (removed > 0) {
+                table = retained;
+                size = kept;
+            }
+            return removed;
+        }
+    }
+
+    int size() {
+        synchronized (writeLock) {
+            return size;
+        }
+    }
+
+    private static final class Table {
+        private final AtomicLongArray keys;
+        private final AtomicLongArray values;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        long get(long key) {
+            int index = index(key);
+            while (true) {
+                long current = keys.get(index);
+                if (current == key) {
+                    return values.get(index);
+                }
+                if (current == EMPTY) {
+                    return 0L;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        /**
+         * @return true if a new key was inserted
+         */
+        boolean putMax(long key, long value) {
+            int index = index(key);
+            while (true) {
+                long current = keys.get(index);
+                if (current == key) {
+                    if (value > values.get(index)) {
+                        values.set(index, value);
+                    }
+                    return false;
+                }
+                if (current == EMPTY) {
+                    values.set(index, value);
+                    keys.set(index, key);
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        Table resize() {
+            Table bigger = new Table(capacity() * 2);
+            copyAtLeast(Long.MIN_VALUE, bigger);
+            return bigger;
+        }
+
+        /**
+         * Copy entries whose value is at least the threshold into target
+         *
+         * @return number of entries copied
+         */
+        int copyAtLeast(long threshold, Table target) {
+            int copied = 0;
+            for (int i = 0; i < capacity(); i++) {
+                long key = keys.get(i);
+                if (key != EMPTY && values.get(i) >= threshold) {
+                    target.putMax(key, values.get(i));
+                    copied++;
+                }
+            }
+            return copied;
+        }
+
+        private int index(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.pennycontrol.common.security.revocation;
+
+import com.pennycontrol.common.security.jwt.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the TokenRevocationRegistry in step with user_token_epochs
+ *
+ * A dedicated thread holds one connection in LISTEN mode and applies
+ * notifications as they arrive. That connection is opened through
+ * DriverManager rather than borrowed from the pool, so it never takes a
+ * Hikari slot away from request handling. A periodic delta sync (rows
+ * updated since the previous sync) covers notifications lost while the
+ * listener was reconnecting. Epochs older than the access token lifetime
+ * cannot affect any live token, so the sync skips them and prunes them
+ * from the registry.
+ *
+ * Started as a SmartLifecycle so the schema version check has already passed.
+ * start() loads the registry synchronously; the context (and therefore the
+ * readiness probe) does not come up with an empty registry.
+ */
+@Slf4j
+public class TokenRevocationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final String SYNC_SQL = """
+            SELECT user_id, (EXTRACT(EPOCH FROM valid_after) * 1000)::BIGINT AS valid_after_ms
+            FROM user_token_epochs
+            WHERE updated_at > ? AND valid_after > ?
+            """;
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenRevocationRegistry registry;
+    private final TokenRevocationProperties properties;
+    private final JwtProperties jwtProperties;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private ScheduledExecutorService syncExecutor;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationListener(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            TokenRevocationRegistry registry,
+            TokenRevocationProperties properties,
+            JwtProperties jwtProperties) {
+        if (!CHANNEL_NAME.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid token revocation channel: " + properties.getChannel());
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.registry = registry;
+        this.properties = properties;
+        this.jwtProperties = jwtProperties;
+    }
+
+    @Override
+    public void start() {
+        // Initial load; a failure here fails startup instead of serving revoked tokens
+        sync();
+        running = true;
+
+        listenerThread = new Thread(this::listenLoop, "token-revocation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+
+        long intervalMillis = properties.getSyncInterval().toMillis();
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::syncSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        log.info("Token revocation listener started on channel '{}'", properties.getChannel());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Pull epochs changed since the previous sync
+     * The window overlaps by one sync interval so rows committed late are not missed
+     */
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = lastSync.minus(properties.getSyncInterval());
+        Instant relevantAfter = now.minusMillis(jwtProperties.getAccessTokenExpiration());
+
+        jdbcTemplate.query(SYNC_SQL,
+                rs -> {
+                    registry.apply(rs.getLong("user_id"), rs.getLong("valid_after_ms"));
+                },
+                Timestamp.from(since.isBefore(Instant.EPOCH) ? Instant.EPOCH : since),
+                Timestamp.from(relevantAfter));
+
+        lastSync = now;
+
+        int pruned = registry.pruneOlderThan(relevantAfter.toEpochMilli());
+        if (pruned > 0) {
+            log.debug("Pruned {} expired token epochs", pruned);
+        }
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (Exception ex) {
+            log.warn("Token revocation delta sync failed: {}", ex.getMessage());
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Catch up on anything missed while disconnected
+                sync();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            applyNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Token revocation listener disconnected, retrying in {}: {}",
+                        properties.getReconnectDelay(), ex.getMessage());
+                sleepBeforeReconnect();
+            } catch (Exception ex) {
+                if (!running) {
+                    return;
+                }
+                log.error("Token revocation listener failed, retrying in {}", properties.getReconnectDelay(), ex);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    /**
+     * Unpooled connection owned by the listener thread for its whole lifetime
+     */
+    private Connection openListenConnection() throws SQLException {
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+
+    private void applyNotification(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed token epoch notification: {}", payload);
+            return;
+        }
+        try {
+            long userId = Long.parseLong(payload, 0, separator, 10);
+            long validAfter = Long.parseLong(payload, separator + 1, payload.length(), 10);
+            registry.apply(userId, validAfter);
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring malformed token epoch notification: {}", payload);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.pennycontrol.common.security.revocation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "token-revocation")
+public class TokenRevocationProperties {
+    /**
+     * Postgres NOTIFY channel carrying "userId:validAfterMillis" payloads
+     */
+    private String channel = "token_epochs";
+
+    /**
+     * Interval of the delta sync that backs up LISTEN/NOTIFY
+     */
+    private Duration syncInterval = Duration.ofSeconds(30);
+
+    /**
+     * Delay before re-establishing a dropped LISTEN connection
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,45 @@
+package com.pennycontrol.common.security.revocation;
+
+/**
+ * In-memory mirror of user_token_epochs
+ *
+ * Holds, per user, the instant before which issued access tokens are no
+ * longer accepted. Lookups are O(1) on primitive arrays and never touch
+ * the database.
+ */
+public class TokenRevocationRegistry {
+
+    private final LongEpochMap epochs = new LongEpochMap();
+
+    /**
+     * Whether a token issued at the given time has been revoked for the user
+     * JWT iat has second precision, and epochs are stored truncated to the second, so a token
+     * from the same second as the epoch is rejected: it may have been issued before the revocation
+     */
+    public boolean isRevoked(long userId, long issuedAtMillis) {
+        long validAfter = epochs.get(userId);
+        return validAfter != 0L && issuedAtMillis <= validAfter;
+    }
+
+    /**
+     * Apply a tokens-valid-after epoch for the user (older values are ignored)
+     */
+    public void apply(long userId, long validAfterMillis) {
+        epochs.raise(userId, validAfterMillis);
+    }
+
+    /**
+     * Forget epochs older than the cutoff
+     * A token issued before such an epoch has expired by the time the cutoff passes it
+     */
+    public int pruneOlderThan(long cutoffMillis) {
+        return epochs.removeBelow(cutoffMillis);
+    }
+
+    /**
+     * Number of users with a recorded epoch
+     */
+    public int size() {
+        return epochs.size();
+    }
+}
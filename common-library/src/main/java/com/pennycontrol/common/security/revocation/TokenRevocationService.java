@@ -0,0 +1,54 @@
+package com.pennycontrol.common.security.revocation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Revokes all access tokens of a user by moving their valid-after epoch
+ *
+ * The write joins the caller's transaction. The trigger on user_token_epochs
+ * notifies every service on commit; the local registry is updated directly
+ * after commit so this instance does not wait for its own notification.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_token_epochs (user_id, valid_after, updated_at)
+            VALUES (?, date_trunc('second', now()), now())
+            ON CONFLICT (user_id) DO UPDATE
+                SET valid_after = GREATEST(user_token_epochs.valid_after, EXCLUDED.valid_after),
+                    updated_at = EXCLUDED.updated_at
+            RETURNING (EXTRACT(EPOCH FROM valid_after) * 1000)::BIGINT
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenRevocationRegistry registry;
+
+    /**
+     * Reject every access token issued to the user before now
+     */
+    public void revokeAllTokens(Long userId) {
+        Long validAfter = jdbcTemplate.queryForObject(UPSERT_SQL, Long.class, userId);
+        if (validAfter == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registry.apply(userId, validAfter);
+                }
+            });
+        } else {
+            registry.apply(userId, validAfter);
+        }
+
+        log.info("Revoked access tokens issued before epoch {} for user ID: {}", validAfter, userId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.pennycontrol.common.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class RequestUtils {
+
+    private RequestUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Extract the client IP address from the request
+     * Honors X-Forwarded-For (first hop) and X-Real-IP before falling back to the remote address
+     */
+    public static String extractClientIp(HttpServletRequest request) {
+        String ip = request.getHeader("X-Forwarded-For");
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("X-Real-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getRemoteAddr();
+        }
+
+        // X-Forwarded-For may hold a proxy chain: "client, proxy1, proxy2"
+        int comma = ip != null ? ip.indexOf(',') : -1;
+        if (comma >= 0) {
+            ip = ip.substring(0, comma);
+        }
+        return ip != null ? ip.trim() : null;
+    }
+
+    /**
+     * Extract user agent from the request
+     */
+    public static String extractUserAgent(HttpServletRequest request) {
+        return request.getHeader("User-Agent");
+    }
+
+    /**
+     * Parse an IPv4 or IPv6 literal without ever triggering a DNS lookup
+     * Returns null for anything that is not a valid literal (e.g. spoofed header values)
+     */
+    public static InetAddress parseIpLiteral(String ip) {
+        if (ip == null || ip.isEmpty() || ip.length() > 45) {
+            return null;
+        }
+        try {
+            if (ip.indexOf(':') >= 0) {
+                // Hex digits, ':' and '.' only: getByName takes the literal path and never resolves
+                for (int i = 0; i < ip.length(); i++) {
+                    char c = ip.charAt(i);
+                    if (c != ':' && c != '.' && Character.digit(c, 16) < 0) {
+                        return null;
+                    }
+                }
+                return InetAddress.getByName(ip);
+            }
+            byte[] octets = parseIpv4(ip);
+            return octets != null ? InetAddress.getByAddress(octets) : null;
+        } catch (UnknownHostException ex) {
+            return null;
+        }
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        byte[] octets = new byte[4];
+        int part = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i <= ip.length(); i++) {
+            char c = i < ip.length() ? ip.charAt(i) : '.';
+            if (c == '.') {
+                if (digits == 0 || part == 4) {
+                    return null;
+                }
+                octets[part++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return part == 4 ? octets : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pennycontrol.common.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.dto.ApiResponse;
+import com.pennycontrol.common.dto.CursorPageResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes the shared response envelope in its success, page and error shapes
+ */
+public class JsonWarmupTask implements WarmupTask {
+
+    private final ObjectMapper objectMapper;
+    private final List<ApiResponse<?>> samples;
+
+    public JsonWarmupTask(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        Map<String, Object> item = Map.of(
+                "id", 1L,
+                "email", "warmup@localhost",
+                "createdAt", LocalDateTime.now());
+        this.samples = List.of(
+                ApiResponse.success("OK", item),
+                ApiResponse.success(CursorPageResponse.<Map<String, Object>>builder()
+                        .content(List.of(item, item))
+                        .pageSize(2)
+                        .nextCursor("MTcwMDAwMDAwMHwx")
+                        .hasMore(true)
+                        .build()),
+                ApiResponse.error(ApiResponse.ErrorDetails.of(
+                        "VALIDATION_ERROR", "ValidationException", "Invalid request",
+                        "One or more fields are invalid", "/api/v1/warmup",
+                        List.of(ApiResponse.ValidationError.of("email", "must be a well-formed email address")))));
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public void run() throws Exception {
+        for (ApiResponse<?> sample : samples) {
+            objectMapper.writeValueAsBytes(sample);
+        }
+    }
+}
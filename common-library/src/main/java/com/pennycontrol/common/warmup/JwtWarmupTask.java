@@ -0,0 +1,32 @@
+package com.pennycontrol.common.warmup;
+
+import com.pennycontrol.common.dto.UserPrincipal;
+import com.pennycontrol.common.security.jwt.JwtTokenProvider;
+
+import java.util.Set;
+
+/**
+ * Signs an access token and runs it through the same parsing as JwtAuthenticationFilter
+ */
+public class JwtWarmupTask implements WarmupTask {
+
+    private static final UserPrincipal PRINCIPAL =
+            UserPrincipal.create(0L, "warmup@localhost", null, Set.of("ROLE_USER"));
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public JwtWarmupTask(JwtTokenProvider jwtTokenProvider) {
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    @Override
+    public String name() {
+        return "jwt";
+    }
+
+    @Override
+    public void run() {
+        String token = jwtTokenProvider.generateAccessToken(PRINCIPAL);
+        jwtTokenProvider.getUserPrincipalFromClaims(jwtTokenProvider.validateAndParseClaims(token));
+    }
+}
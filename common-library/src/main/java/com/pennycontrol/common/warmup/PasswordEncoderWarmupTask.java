@@ -0,0 +1,34 @@
+package com.pennycontrol.common.warmup;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Hashes and verifies a throwaway password
+ */
+public class PasswordEncoderWarmupTask implements WarmupTask {
+
+    private static final String PASSWORD = "warmup-password";
+
+    private final PasswordEncoder passwordEncoder;
+    private final int maxIterations;
+
+    public PasswordEncoderWarmupTask(PasswordEncoder passwordEncoder, int maxIterations) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxIterations = maxIterations;
+    }
+
+    @Override
+    public String name() {
+        return "password-encoder";
+    }
+
+    @Override
+    public void run() {
+        passwordEncoder.matches(PASSWORD, passwordEncoder.encode(PASSWORD));
+    }
+
+    @Override
+    public int maxIterations() {
+        return maxIterations;
+    }
+}
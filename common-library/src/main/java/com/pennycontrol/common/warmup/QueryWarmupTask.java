@@ -0,0 +1,39 @@
+package com.pennycontrol.common.warmup;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Executes the configured read queries as prepared statements and drains their results
+ *
+ * Besides the JIT, this gets pgjdbc past its prepare threshold so pooled
+ * connections already hold server-side prepared statements.
+ */
+public class QueryWarmupTask implements WarmupTask {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<String> queries;
+
+    public QueryWarmupTask(JdbcTemplate jdbcTemplate, List<String> queries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queries = queries;
+    }
+
+    @Override
+    public String name() {
+        return "queries";
+    }
+
+    @Override
+    public void run() {
+        for (String sql : queries) {
+            jdbcTemplate.query(connection -> connection.prepareStatement(sql), rs -> {
+                while (rs.next()) {
+                    rs.getObject(1);
+                }
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pennycontrol.common.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    /**
+     * Run warmup before the readiness probe reports ready
+     */
+    private boolean enabled = true;
+
+    /**
+     * Rounds over all warmup tasks
+     */
+    private int iterations = 2000;
+
+    /**
+     * Warmup stops after this long even if rounds remain
+     */
+    private Duration timeBudget = Duration.ofSeconds(20);
+
+    /**
+     * Password hashes are slow by design; a few are enough to compile them
+     */
+    private int passwordIterations = 10;
+
+    /**
+     * Read-only SQL statements executed as prepared statements each round
+     */
+    private List<String> queries = new ArrayList<>();
+}
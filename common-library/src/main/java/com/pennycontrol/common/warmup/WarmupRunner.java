@@ -0,0 +1,73 @@
+package com.pennycontrol.common.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.NativeDetector;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs all WarmupTask beans in rounds until warmup.iterations or warmup.time-budget is reached
+ *
+ * Spring Boot publishes the ACCEPTING_TRAFFIC readiness state only after all
+ * ApplicationRunners have returned, so /actuator/health/readiness stays DOWN
+ * while the JIT compiles the hot paths here instead of on first traffic.
+ * A failing task is logged and dropped; warmup never prevents startup.
+ * Skipped in a native image, which is compiled ahead of time.
+ */
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private final List<WarmupTask> tasks;
+    private final WarmupProperties properties;
+
+    public WarmupRunner(List<WarmupTask> tasks, WarmupProperties properties) {
+        this.tasks = tasks;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled() || tasks.isEmpty() || NativeDetector.inNativeImage()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeBudget().toNanos();
+        List<WarmupTask> active = new ArrayList<>(tasks);
+        Map<String, Long> nanosByTask = new LinkedHashMap<>();
+        int rounds = 0;
+
+        while (rounds < properties.getIterations() && !active.isEmpty() && System.nanoTime() < deadline) {
+            for (var it = active.iterator(); it.hasNext(); ) {
+                WarmupTask task = it.next();
+                if (rounds >= task.maxIterations()) {
+                    it.remove();
+                    continue;
+                }
+
+                long taskStart = System.nanoTime();
+                try {
+                    task.run();
+                } catch (Exception ex) {
+                    log.warn("Warmup task {} failed and is skipped: {}", task.name(), ex.getMessage());
+                    it.remove();
+                }
+                nanosByTask.merge(task.name(), System.nanoTime() - taskStart, Long::sum);
+            }
+            rounds++;
+        }
+
+        log.info("Warmup finished in {} ms after {} rounds ({})",
+                (System.nanoTime() - start) / 1_000_000,
+                rounds,
+                nanosByTask.entrySet().stream()
+                        .map(e -> e.getKey() + "=" + e.getValue() / 1_000_000 + "ms")
+                        .collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,27 @@
+package com.pennycontrol.common.warmup;
+
+/**
+ * One unit of warmup work, run repeatedly by WarmupRunner before the service reports ready
+ *
+ * Services add their own hot paths (repository reads, DTO mapping) by
+ * declaring beans of this type.
+ */
+public interface WarmupTask {
+
+    /**
+     * Name used in the warmup report
+     */
+    String name();
+
+    /**
+     * Execute the hot path once; must not modify data
+     */
+    void run() throws Exception;
+
+    /**
+     * Upper bound of runs for expensive tasks, regardless of warmup.iterations
+     */
+    default int maxIterations() {
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,101 @@
+package com.pennycontrol.common.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongEpochMapTest {
+
+    private final LongEpochMap map = new LongEpochMap();
+
+    @Test
+    void absentKeyReadsAsZero() {
+        assertThat(map.get(7L)).isZero();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void raiseKeepsTheLargerValue() {
+        map.raise(7L, 100L);
+        map.raise(7L, 50L);
+        assertThat(map.get(7L)).isEqualTo(100L);
+
+        map.raise(7L, 200L);
+        assertThat(map.get(7L)).isEqualTo(200L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyKeyIsIgnored() {
+        map.raise(0L, 100L);
+
+        assertThat(map.get(0L)).isZero();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        int count = 10_000;
+        for (long key = 1; key <= count; key++) {
+            map.raise(key, key * 10);
+        }
+
+        assertThat(map.size()).isEqualTo(count);
+        for (long key = 1; key <= count; key++) {
+            assertThat(map.get(key)).isEqualTo(key * 10);
+        }
+        assertThat(map.get(count + 1L)).isZero();
+    }
+
+    @Test
+    void removeBelowDropsOnlyOlderEntriesAndKeepsProbeChains() {
+        for (long key = 1; key <= 2_000; key++) {
+            map.raise(key, key);
+        }
+
+        assertThat(map.removeBelow(1_001L)).isEqualTo(1_000);
+
+        assertThat(map.size()).isEqualTo(1_000);
+        for (long key = 1; key <= 1_000; key++) {
+            assertThat(map.get(key)).isZero();
+        }
+        for (long key = 1_001; key <= 2_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void removeBelowWithNothingToDropChangesNothing() {
+        map.raise(7L, 100L);
+
+        assertThat(map.removeBelow(100L)).isZero();
+        assertThat(map.get(7L)).isEqualTo(100L);
+    }
+
+    @Test
+    void readersSeeRecordedEpochsWhileTheTableResizes() throws Exception {
+        map.raise(1L, 1_000L);
+        AtomicReference<Long> lost = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        Thread reader = new Thread(() -> {
+            while (done.getCount() > 0) {
+                long value = map.get(1L);
+                if (value < 1_000L) {
+                    lost.set(value);
+                }
+            }
+        });
+        reader.start();
+        for (long key = 2; key <= 50_000; key++) {
+            map.raise(key, key);
+        }
+        done.countDown();
+        reader.join();
+
+        assertThat(lost.get()).isNull();
+    }
+}
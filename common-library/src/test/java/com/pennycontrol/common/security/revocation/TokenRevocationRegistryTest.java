@@ -0,0 +1,57 @@
+package com.pennycontrol.common.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationRegistryTest {
+
+    private static final long USER_ID = 42L;
+
+    /** An epoch as stored: truncated to the second */
+    private static final long EPOCH = 1_790_000_000_000L;
+
+    private final TokenRevocationRegistry registry = new TokenRevocationRegistry();
+
+    @Test
+    void usersWithoutEpochAreNeverRevoked() {
+        assertThat(registry.isRevoked(USER_ID, 0L)).isFalse();
+        assertThat(registry.isRevoked(USER_ID, EPOCH)).isFalse();
+    }
+
+    @Test
+    void tokenFromTheRevocationSecondIsRevoked() {
+        registry.apply(USER_ID, EPOCH);
+
+        // iat is truncated to the second as well, so this token may predate the revocation
+        assertThat(registry.isRevoked(USER_ID, EPOCH)).isTrue();
+        assertThat(registry.isRevoked(USER_ID, EPOCH - 1_000)).isTrue();
+    }
+
+    @Test
+    void tokenFromTheFollowingSecondIsAccepted() {
+        registry.apply(USER_ID, EPOCH);
+
+        assertThat(registry.isRevoked(USER_ID, EPOCH + 1_000)).isFalse();
+    }
+
+    @Test
+    void olderEpochDoesNotUndoARevocation() {
+        registry.apply(USER_ID, EPOCH);
+        registry.apply(USER_ID, EPOCH - 60_000);
+
+        assertThat(registry.isRevoked(USER_ID, EPOCH)).isTrue();
+    }
+
+    @Test
+    void pruningForgetsOnlyOlderEpochs() {
+        registry.apply(USER_ID, EPOCH);
+        registry.apply(USER_ID + 1, EPOCH + 60_000);
+
+        assertThat(registry.pruneOlderThan(EPOCH + 1)).isEqualTo(1);
+
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(registry.isRevoked(USER_ID, EPOCH)).isFalse();
+        assertThat(registry.isRevoked(USER_ID + 1, EPOCH + 60_000)).isTrue();
+    }
+}
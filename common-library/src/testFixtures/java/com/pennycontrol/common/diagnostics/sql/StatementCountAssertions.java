@@ -0,0 +1,77 @@
+package com.pennycontrol.common.diagnostics.sql;
+
+import com.pennycontrol.common.diagnostics.DiagnosticsProperties;
+
+/**
+ * Test-support assertions on the number of SQL statements an endpoint runs
+ *
+ * Usage with MockMvc in a service test:
+ * <pre>
+ * {@code
+ * mockMvc.perform(get("/api/v1/users/me").header("Authorization", bearer));
+ * StatementCountAssertions.assertStatementCount(registry, "GET /api/v1/users/me", 1);
+ * }
+ * </pre>
+ *
+ * Endpoints are keyed the same way StatementCountFilter records them:
+ * "METHOD /path/pattern".
+ */
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Assert the most recent request to the endpoint ran exactly the expected number of statements
+     */
+    public static void assertStatementCount(StatementCountRegistry registry, String endpoint, long expected) {
+        long actual = lastCount(registry, endpoint);
+        if (actual != expected) {
+            throw new AssertionError(String.format(
+                    "Expected %d SQL statements for %s but was %d", expected, endpoint, actual));
+        }
+    }
+
+    /**
+     * Assert the most recent request to the endpoint ran at most the given number of statements
+     */
+    public static void assertStatementCountAtMost(StatementCountRegistry registry, String endpoint, long max) {
+        long actual = lastCount(registry, endpoint);
+        if (actual > max) {
+            throw new AssertionError(String.format(
+                    "Expected at most %d SQL statements for %s but was %d", max, endpoint, actual));
+        }
+    }
+
+    /**
+     * Assert the most recent request to the endpoint stayed within its diagnostics.statement-budgets entry
+     * Fails when the endpoint has no budget, so new endpoints cannot skip the guard
+     */
+    public static void assertWithinBudget(StatementCountRegistry registry, DiagnosticsProperties properties,
+                                          String endpoint) {
+        Integer budget = properties.getStatementBudgets().get(endpoint);
+        if (budget == null) {
+            throw new AssertionError("No statement budget configured for " + endpoint);
+        }
+        assertStatementCountAtMost(registry, endpoint, budget);
+    }
+
+    /**
+     * Count the statements run by an action on the current thread
+     */
+    public static long countStatements(Runnable action) {
+        StatementCounter.start();
+        try {
+            action.run();
+            return StatementCounter.current();
+        } finally {
+            StatementCounter.stop();
+        }
+    }
+
+    private static long lastCount(StatementCountRegistry registry, String endpoint) {
+        return registry.lastCount(endpoint)
+                .orElseThrow(() -> new AssertionError("No request recorded for " + endpoint));
+    }
+}
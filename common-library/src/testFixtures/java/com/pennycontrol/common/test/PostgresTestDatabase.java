@@ -0,0 +1,76 @@
+package com.pennycontrol.common.test;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Postgres container shared by the integration tests of one JVM, migrated like production
+ *
+ * Migrations are applied from the db-migrator sources (the Gradle test task
+ * passes their directory as pennycontrol.migrations-dir), so tests run
+ * against exactly the schema the db-migrator job would create.
+ *
+ * Usage in a @SpringBootTest:
+ * <pre>
+ * {@code
+ * @DynamicPropertySource
+ * static void database(DynamicPropertyRegistry registry) {
+ *     PostgresTestDatabase.register(registry);
+ * }
+ * }
+ * </pre>
+ */
+public final class PostgresTestDatabase {
+
+    private static final String IMAGE = "postgres:16-alpine";
+    private static final String MIGRATIONS_DIR_PROPERTY = "pennycontrol.migrations-dir";
+
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresTestDatabase() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Start and migrate the container on first use
+     */
+    public static synchronized PostgreSQLContainer<?> start() {
+        if (container == null) {
+            PostgreSQLContainer<?> started = new PostgreSQLContainer<>(IMAGE);
+            started.start();
+
+            Flyway.configure()
+                    .dataSource(started.getJdbcUrl(), started.getUsername(), started.getPassword())
+                    .locations("filesystem:" + migrationsDir())
+                    .load()
+                    .migrate();
+            container = started;
+        }
+        return container;
+    }
+
+    /**
+     * Point spring.datasource at the migrated container
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        PostgreSQLContainer<?> database = start();
+        registry.add("spring.datasource.url", database::getJdbcUrl);
+        registry.add("spring.datasource.username", database::getUsername);
+        registry.add("spring.datasource.password", database::getPassword);
+        // Flyway is on the test classpath for the migration above; the services never migrate
+        registry.add("spring.flyway.enabled", () -> "false");
+    }
+
+    private static Path migrationsDir() {
+        String dir = System.getProperty(MIGRATIONS_DIR_PROPERTY);
+        if (dir == null || !Files.isDirectory(Path.of(dir))) {
+            throw new IllegalStateException("System property " + MIGRATIONS_DIR_PROPERTY
+                    + " must point at db-migrator/src/main/resources/db/migration, was " + dir);
+        }
+        return Path.of(dir).toAbsolutePath();
+    }
+}
@@ -0,0 +1,12 @@
+package com.pennycontrol.common.test.plan;
+
+import java.util.List;
+
+/**
+ * One statement as a repository sent it to the driver
+ *
+ * @param sql        statement text with ? placeholders
+ * @param parameters bound values in placeholder order (null for setNull)
+ */
+public record CapturedStatement(String sql, List<Object> parameters) {
+}
@@ -0,0 +1,13 @@
+package com.pennycontrol.common.test.plan;
+
+import java.util.Set;
+
+/**
+ * Access path a hot query must keep
+ *
+ * @param indexes          at least one of these indexes must be scanned
+ * @param noSeqScanOn      tables that must not be read by a sequential scan
+ * @param maxEstimatedRows no plan node may be estimated to produce more rows
+ */
+public record PlanExpectation(Set<String> indexes, Set<String> noSeqScanOn, long maxEstimatedRows) {
+}
@@ -0,0 +1,15 @@
+package com.pennycontrol.common.test.plan;
+
+/**
+ * One node of an EXPLAIN (FORMAT JSON) plan
+ */
+public record PlanNode(String nodeType, String relationName, String indexName, long planRows) {
+
+    @Override
+    public String toString() {
+        return nodeType
+                + (indexName != null ? " using " + indexName : "")
+                + (relationName != null ? " on " + relationName : "")
+                + " (rows=" + planRows + ")";
+    }
+}
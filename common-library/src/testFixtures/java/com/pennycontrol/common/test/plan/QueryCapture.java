@@ -0,0 +1,80 @@
+package com.pennycontrol.common.test.plan;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Records the SQL and bound parameters that the application DataSource executes
+ * on the current thread while {@link #capture(Runnable)} runs
+ *
+ * Register it in a @SpringBootTest with {@code @Import(QueryCapture.class)};
+ * StatementCountingDataSourcePostProcessor attaches every QueryExecutionListener
+ * bean to the DataSource proxy. Statements are captured exactly as Hibernate,
+ * JdbcTemplate or plain JDBC render them, so plan checks follow mapping changes.
+ */
+public class QueryCapture implements QueryExecutionListener {
+
+    private final ThreadLocal<List<CapturedStatement>> active = new ThreadLocal<>();
+
+    /**
+     * Run the action and return every statement it executed, in order
+     */
+    public List<CapturedStatement> capture(Runnable action) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        active.set(statements);
+        try {
+            action.run();
+        } finally {
+            active.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Run the action and return the first statement containing the fragment (case-insensitive)
+     */
+    public CapturedStatement captureFirst(String sqlFragment, Runnable action) {
+        List<CapturedStatement> statements = capture(action);
+        return statements.stream()
+                .filter(statement -> statement.sql().toLowerCase().contains(sqlFragment.toLowerCase()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statement containing '" + sqlFragment
+                        + "' was executed; captured " + statements.stream().map(CapturedStatement::sql).toList()));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<CapturedStatement> statements = active.get();
+        if (statements == null) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            if (query.getParametersList().isEmpty()) {
+                statements.add(new CapturedStatement(query.getQuery(), List.of()));
+            }
+            for (List<ParameterSetOperation> operations : query.getParametersList()) {
+                statements.add(new CapturedStatement(query.getQuery(), parameters(operations)));
+            }
+        }
+    }
+
+    private static List<Object> parameters(List<ParameterSetOperation> operations) {
+        List<Object> values = new ArrayList<>();
+        operations.stream()
+                .filter(operation -> operation.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .forEach(operation -> values.add(
+                        "setNull".equals(operation.getMethod().getName()) ? null : operation.getArgs()[1]));
+        return values;
+    }
+}
@@ -0,0 +1,119 @@
+package com.pennycontrol.common.test.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test-support assertions on the access path of a captured statement
+ *
+ * Runs EXPLAIN (FORMAT JSON) with the captured parameters bound, so the plan
+ * is the custom plan the real request gets. EXPLAIN without ANALYZE does not
+ * execute the statement, so DELETEs are planned without changing data.
+ *
+ * Usage in a service test:
+ * <pre>
+ * {@code
+ * CapturedStatement statement = queryCapture.captureFirst("from users",
+ *         () -> userRepository.findByEmail(email));
+ * QueryPlanAssertions.assertPlan(dataSource, statement,
+ *         new PlanExpectation(Set.of("idx_users_email"), Set.of("users"), 1));
+ * }
+ * </pre>
+ */
+public final class QueryPlanAssertions {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private QueryPlanAssertions() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Assert the statement's plan scans an expected index, avoids sequential
+     * scans on the named tables and stays within the row estimate bound
+     */
+    public static List<PlanNode> assertPlan(DataSource dataSource, CapturedStatement statement,
+                                            PlanExpectation expected) {
+        List<PlanNode> nodes = explain(dataSource, statement);
+        List<String> violations = violations(expected, nodes);
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Query plan regressed: " + violations
+                    + "\n  plan: " + nodes + "\n  sql: " + statement.sql().strip());
+        }
+        return nodes;
+    }
+
+    /**
+     * Plan nodes of the statement, root first
+     */
+    public static List<PlanNode> explain(DataSource dataSource, CapturedStatement statement) {
+        String planJson;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+            for (int i = 0; i < statement.parameters().size(); i++) {
+                explain.setObject(i + 1, rebind(connection, statement.parameters().get(i)));
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                rs.next();
+                planJson = rs.getString(1);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("EXPLAIN failed for: " + statement.sql(), ex);
+        }
+
+        List<PlanNode> nodes = new ArrayList<>();
+        try {
+            collect(OBJECT_MAPPER.readTree(planJson).get(0).get("Plan"), nodes);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unreadable plan: " + planJson, ex);
+        }
+        return nodes;
+    }
+
+    /**
+     * SQL arrays belong to the connection that created them
+     */
+    private static Object rebind(Connection connection, Object value) throws SQLException {
+        if (value instanceof Array array) {
+            return connection.createArrayOf(array.getBaseTypeName(), (Object[]) array.getArray());
+        }
+        return value;
+    }
+
+    private static List<String> violations(PlanExpectation expected, List<PlanNode> nodes) {
+        List<String> violations = new ArrayList<>();
+
+        if (nodes.stream().noneMatch(node -> node.indexName() != null && expected.indexes().contains(node.indexName()))) {
+            violations.add("expected a scan using one of " + expected.indexes());
+        }
+        nodes.stream()
+                .filter(node -> "Seq Scan".equals(node.nodeType()) && expected.noSeqScanOn().contains(node.relationName()))
+                .forEach(node -> violations.add("sequential scan on " + node.relationName()));
+        nodes.stream()
+                .filter(node -> node.planRows() > expected.maxEstimatedRows())
+                .forEach(node -> violations.add("estimated " + node.planRows() + " rows at " + node
+                        + ", bound is " + expected.maxEstimatedRows()));
+
+        return violations;
+    }
+
+    private static void collect(JsonNode plan, List<PlanNode> nodes) {
+        nodes.add(new PlanNode(
+                plan.path("Node Type").asText(),
+                plan.hasNonNull("Relation Name") ? plan.get("Relation Name").asText() : null,
+                plan.hasNonNull("Index Name") ? plan.get("Index Name").asText() : null,
+                plan.path("Plan Rows").asLong()));
+        for (JsonNode child : plan.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+}
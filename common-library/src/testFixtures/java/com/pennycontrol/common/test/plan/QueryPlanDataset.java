@@ -0,0 +1,65 @@
+package com.pennycontrol.common.test.plan;
+
+import com.pennycontrol.common.test.PostgresTestDatabase;
+import com.pennycontrol.loadtest.dataset.DatasetGenerator;
+import com.pennycontrol.loadtest.dataset.DatasetOptions;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Seeds the shared test database with the synthetic dataset, once per JVM
+ *
+ * The dataset models steady state with daily token cleanup, so the planner
+ * sees realistic row counts and selectivities. Seeding truncates users and
+ * refresh tokens, so query-plan tests run in their own Gradle test task
+ * (checkQueryPlans), never alongside the endpoint integration tests.
+ */
+public final class QueryPlanDataset {
+
+    private static final String USERS_PROPERTY = "pennycontrol.plan-check.users";
+
+    private static LocalDateTime now;
+
+    private QueryPlanDataset() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Seed on first use
+     *
+     * @return the reference time of the dataset; pass it to time-based repository methods
+     */
+    public static synchronized LocalDateTime seed() throws Exception {
+        if (now == null) {
+            PostgreSQLContainer<?> database = PostgresTestDatabase.start();
+            // Today, so repository methods that read the clock agree with the seeded expiries
+            LocalDateTime referenceTime = LocalDate.now(ZoneOffset.UTC).atStartOfDay();
+
+            new DatasetGenerator(DatasetOptions.parse(new String[] {
+                    "--db-url=" + database.getJdbcUrl(),
+                    "--db-username=" + database.getUsername(),
+                    "--db-password=" + database.getPassword(),
+                    "--users=" + System.getProperty(USERS_PROPERTY, "200000"),
+                    "--seed=1",
+                    "--now=" + referenceTime,
+                    "--expired-ratio=0.02",
+                    "--expired-window=1d",
+                    "--truncate=true"})).generate();
+
+            try (Connection connection = DriverManager.getConnection(
+                    database.getJdbcUrl(), database.getUsername(), database.getPassword());
+                 Statement statement = connection.createStatement()) {
+                // Sets the visibility map, so index-only scans are costed as in production
+                statement.execute("VACUUM ANALYZE");
+            }
+            now = referenceTime;
+        }
+        return now;
+    }
+}
@@ -0,0 +1,22 @@
+-- =====================================================
+-- Shared token buckets for login/registration rate limiting
+-- Version: 3.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Only used when rate-limit.store=postgres (multi-replica deployments).
+-- UNLOGGED: bucket state is disposable, so skip WAL for these hot upserts.
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key      BIGINT PRIMARY KEY,
+    tokens          DOUBLE PRECISION NOT NULL,
+    refilled_at     TIMESTAMP NOT NULL,
+    allowed         BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+-- Index for idle bucket eviction
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_refilled_at ON rate_limit_buckets(refilled_at);
+
+-- Comments
+COMMENT ON TABLE rate_limit_buckets IS 'Token buckets for login/registration throttling shared across replicas';
+COMMENT ON COLUMN rate_limit_buckets.bucket_key IS '64-bit hash of action, dimension (ip/email) and value';
+COMMENT ON COLUMN rate_limit_buckets.allowed IS 'Outcome of the most recent consume attempt';
@@ -0,0 +1,42 @@
+-- =====================================================
+-- Transactional outbox for user and session change events
+-- Version: 9.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Events are inserted in the same transaction as the change they describe
+-- and relayed to sinks afterwards. id order is commit order per aggregate:
+-- writers serialize on an advisory lock per aggregate before inserting.
+CREATE TABLE IF NOT EXISTS outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    aggregate_type  VARCHAR(50) NOT NULL,
+    aggregate_id    VARCHAR(100) NOT NULL,
+    event_type      VARCHAR(100) NOT NULL,
+    payload         JSONB NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Relay state
+    published_at    TIMESTAMP,
+    attempts        INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    last_error      TEXT
+);
+
+-- Claim queue: pending events in id order
+CREATE INDEX IF NOT EXISTS idx_outbox_pending
+    ON outbox (id)
+    WHERE published_at IS NULL;
+
+-- Head-of-line check: earlier pending events of the same aggregate
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_aggregate
+    ON outbox (aggregate_type, aggregate_id, id)
+    WHERE published_at IS NULL;
+
+-- Retention cleanup of published events
+CREATE INDEX IF NOT EXISTS idx_outbox_published_at
+    ON outbox (published_at)
+    WHERE published_at IS NOT NULL;
+
+COMMENT ON TABLE outbox IS 'Change events written with the change and relayed to sinks (transactional outbox)';
+COMMENT ON COLUMN outbox.aggregate_id IS 'Events of one aggregate are delivered in id order';
+COMMENT ON COLUMN outbox.next_attempt_at IS 'Earliest retry after a failed delivery';
@@ -0,0 +1,19 @@
+package com.pennycontrol.dbmigrator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * One-shot schema migration job
+ *
+ * Flyway auto-configuration migrates db/migration while the context starts;
+ * the process then exits with 0, or non-zero if a migration failed.
+ * Run it before rolling out services that need the new schema.
+ */
+@SpringBootApplication
+public class DbMigratorApplication {
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(SpringApplication.run(DbMigratorApplication.class, args)));
+    }
+}
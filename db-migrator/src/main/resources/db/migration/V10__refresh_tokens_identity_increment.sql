@@ -0,0 +1,11 @@
+-- =====================================================
+-- Refresh token ids back to single-step allocation
+-- Version: 10.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Refresh tokens are only ever inserted one row at a time through JDBC
+-- (ActiveSessionRepository.insertWithSessionCap) using the column default,
+-- so the block allocation from V8 only skipped 49 ids per login. users keeps
+-- its pooled increment: bulk import and Hibernate inserts draw from it.
+ALTER SEQUENCE refresh_tokens_id_seq INCREMENT BY 1;
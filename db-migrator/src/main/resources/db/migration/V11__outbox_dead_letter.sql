@@ -0,0 +1,15 @@
+-- =====================================================
+-- Dead-letter state for outbox events
+-- Version: 11.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- An event that failed outbox.max-attempts deliveries is parked instead of
+-- retried forever. It keeps holding back later events of its aggregate, so
+-- per-aggregate order is never broken. To retry it:
+--   UPDATE outbox SET dead_at = NULL, attempts = 0, next_attempt_at = NULL WHERE id = ...
+-- or to drop it and release its aggregate:
+--   UPDATE outbox SET dead_at = NULL, published_at = now() WHERE id = ...
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS dead_at TIMESTAMP;
+
+COMMENT ON COLUMN outbox.dead_at IS 'Parked after outbox.max-attempts failed deliveries; holds back its aggregate';
@@ -0,0 +1,11 @@
+-- =====================================================
+-- Role for internal service callers
+-- Version: 12.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Granted to the accounts other services authenticate with. Endpoints meant
+-- for service-to-service calls (POST /api/v1/users/batch) require it or ROLE_ADMIN.
+INSERT INTO roles (name, description, priority) VALUES
+    ('ROLE_SERVICE', 'Internal service caller', 5)
+ON CONFLICT (name) DO NOTHING;
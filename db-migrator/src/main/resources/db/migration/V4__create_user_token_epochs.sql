@@ -0,0 +1,37 @@
+-- =====================================================
+-- Per-user access token revocation epochs
+-- Version: 4.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Access tokens issued before valid_after are rejected.
+-- TIMESTAMPTZ so the epoch compares directly with the JWT iat (UTC seconds).
+CREATE TABLE IF NOT EXISTS user_token_epochs (
+    user_id         BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    valid_after     TIMESTAMPTZ NOT NULL,
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index for the periodic delta sync
+CREATE INDEX IF NOT EXISTS idx_user_token_epochs_updated_at ON user_token_epochs(updated_at);
+
+-- Broadcast every change as "userId:validAfterMillis" to listening services
+CREATE OR REPLACE FUNCTION notify_token_epoch_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify(
+        'token_epochs',
+        NEW.user_id || ':' || (EXTRACT(EPOCH FROM NEW.valid_after) * 1000)::BIGINT
+    );
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_token_epochs_notify
+    AFTER INSERT OR UPDATE ON user_token_epochs
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_token_epoch_change();
+
+-- Comments
+COMMENT ON TABLE user_token_epochs IS 'Per-user instant before which issued access tokens are revoked';
+COMMENT ON COLUMN user_token_epochs.valid_after IS 'Truncated to the second to match JWT iat precision';
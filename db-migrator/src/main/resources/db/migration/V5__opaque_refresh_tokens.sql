@@ -0,0 +1,27 @@
+-- =====================================================
+-- Opaque refresh tokens ("{id}.{verifier}")
+-- Version: 5.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Opaque tokens are addressed by primary key; only the verifier hash is stored.
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS verifier_hash BYTEA;
+
+-- token_hash is only set for legacy JWT refresh tokens from now on
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash DROP NOT NULL;
+
+-- Replace the unique constraint and the duplicate plain index with one partial
+-- unique index that only covers legacy rows. Drop it (and token_hash) once
+-- refresh-token.format=jwt is no longer used and legacy tokens have expired.
+ALTER TABLE refresh_tokens DROP CONSTRAINT IF EXISTS refresh_tokens_token_hash_key;
+DROP INDEX IF EXISTS idx_refresh_tokens_token_hash;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_tokens_legacy_token_hash
+    ON refresh_tokens(token_hash)
+    WHERE token_hash IS NOT NULL;
+
+ALTER TABLE refresh_tokens ADD CONSTRAINT chk_refresh_tokens_credential
+    CHECK (token_hash IS NOT NULL OR verifier_hash IS NOT NULL);
+
+-- Comments
+COMMENT ON COLUMN refresh_tokens.token_hash IS 'SHA-256 hex of a legacy JWT refresh token';
+COMMENT ON COLUMN refresh_tokens.verifier_hash IS 'SHA-256 of the verifier part of an opaque refresh token';
@@ -0,0 +1,55 @@
+-- =====================================================
+-- Dictionary-encoded user agents and inet IP addresses on refresh_tokens
+-- Version: 6.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Distinct user agent strings, referenced by id from refresh_tokens.
+-- Uniqueness is enforced on the SHA-256 so long strings never hit btree size limits.
+CREATE TABLE IF NOT EXISTS user_agents (
+    id              SERIAL PRIMARY KEY,
+    ua_hash         BYTEA NOT NULL UNIQUE,
+    user_agent      TEXT NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill the dictionary from existing sessions
+INSERT INTO user_agents (ua_hash, user_agent)
+SELECT DISTINCT sha256(convert_to(user_agent, 'UTF8')), user_agent
+FROM refresh_tokens
+WHERE user_agent IS NOT NULL
+ON CONFLICT (ua_hash) DO NOTHING;
+
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS user_agent_id INTEGER;
+
+UPDATE refresh_tokens rt
+SET user_agent_id = ua.id
+FROM user_agents ua
+WHERE rt.user_agent IS NOT NULL
+  AND ua.ua_hash = sha256(convert_to(rt.user_agent, 'UTF8'));
+
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT fk_refresh_tokens_user_agent
+        FOREIGN KEY (user_agent_id) REFERENCES user_agents(id);
+
+ALTER TABLE refresh_tokens DROP COLUMN user_agent;
+
+-- Store IPs as inet (7 bytes for IPv4, 19 for IPv6). Values that are not valid
+-- addresses (e.g. spoofed X-Forwarded-For content) become NULL.
+CREATE FUNCTION pg_temp.try_inet(value TEXT)
+RETURNS INET AS $$
+BEGIN
+    RETURN value::INET;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- Rewrites the table, which also reclaims the space of the dropped user_agent column
+ALTER TABLE refresh_tokens
+    ALTER COLUMN ip_address TYPE INET USING pg_temp.try_inet(ip_address);
+
+-- Comments
+COMMENT ON TABLE user_agents IS 'Dictionary of distinct user agent strings seen on refresh tokens';
+COMMENT ON COLUMN refresh_tokens.user_agent_id IS 'Browser/app user agent (user_agents.id)';
+COMMENT ON COLUMN refresh_tokens.ip_address IS 'IP address where token was issued';
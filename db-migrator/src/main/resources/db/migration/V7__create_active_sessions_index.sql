@@ -0,0 +1,13 @@
+-- =====================================================
+-- Partial covering index for the active sessions listing
+-- Version: 7.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Covers GET /api/v1/auth/sessions: filter, keyset order and every returned
+-- column come from the index, so the listing is an index-only scan over
+-- non-revoked rows (heap visits only for pages not yet all-visible).
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_active_sessions
+    ON refresh_tokens (user_id, issued_at DESC, id DESC)
+    INCLUDE (ip_address, user_agent_id, last_used_at, expires_at)
+    WHERE is_revoked = false;
@@ -0,0 +1,15 @@
+-- =====================================================
+-- Sequence-based ID generation with pooled-lo allocation
+-- Version: 8.0
+-- Created: 2026-10-19
+-- =====================================================
+
+-- Hibernate reserves blocks of 50 ids per nextval() call (pooled-lo: the
+-- returned value is the low end of the block), which lets it batch INSERTs
+-- instead of needing one round trip per row to learn the IDENTITY value.
+-- Must match allocationSize on the @SequenceGenerator mappings.
+--
+-- Rows inserted through the column DEFAULT still call nextval() and use the
+-- low value of their own block, so they never collide with Hibernate's ids.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE refresh_tokens_id_seq INCREMENT BY 50;
@@ -0,0 +1,129 @@
+package com.pennycontrol.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pennycontrol.loadtest.scenario.ApiClient;
+import com.pennycontrol.loadtest.scenario.LoginScenario;
+import com.pennycontrol.loadtest.scenario.ProfileReadScenario;
+import com.pennycontrol.loadtest.scenario.ProfileUpdateScenario;
+import com.pennycontrol.loadtest.scenario.RefreshScenario;
+import com.pennycontrol.loadtest.scenario.Scenario;
+import com.pennycontrol.loadtest.scenario.SessionPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: migrates and seeds a database, boots auth-service and
+ * user-service from their packaged jars, then runs each scenario at its fixed
+ * arrival rate and writes summary.json plus one HdrHistogram log per scenario
+ *
+ * Run with ./gradlew :loadtest:run -PloadtestArgs="--users=5000 --scenarios=login:50,me:1000"
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+
+    // Shared by both services so user-service accepts auth-service's tokens
+    private static final String JWT_SECRET =
+            "loadtest-only-secret-key-that-is-long-enough-for-hs512-signatures-0123456789";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Files.createDirectories(options.output());
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        try (TestDatabase database = TestDatabase.start(options)) {
+            int authPort = freePort();
+            int userPort = freePort();
+            Map<String, String> environment = Map.of(
+                    "DB_HOST", database.host(),
+                    "DB_PORT", String.valueOf(database.port()),
+                    "DB_NAME", database.database(),
+                    "DB_USERNAME", database.username(),
+                    "DB_PASSWORD", database.password(),
+                    "AUTH_SERVICE_PORT", String.valueOf(authPort),
+                    "USER_SERVICE_PORT", String.valueOf(userPort),
+                    "JWT_SECRET", JWT_SECRET);
+
+            ServiceProcess.runToCompletion("db-migrator", environment, options.output());
+            UserSeeder.seed(database, options.users());
+
+            // Login throttling would turn the login scenario into a rate limiter benchmark
+            try (ServiceProcess authService = ServiceProcess.start(
+                    "auth-service", environment, List.of("--rate-limit.enabled=false"), options.output());
+                 ServiceProcess userService = ServiceProcess.start(
+                         "user-service", environment, List.of(), options.output())) {
+
+                String authBaseUrl = "http://localhost:" + authPort;
+                String userBaseUrl = "http://localhost:" + userPort;
+                authService.awaitReady(client, authBaseUrl, READY_TIMEOUT);
+                userService.awaitReady(client, userBaseUrl, READY_TIMEOUT);
+
+                ApiClient api = new ApiClient(authBaseUrl, userBaseUrl, objectMapper);
+                SessionPool sessions = SessionPool.login(client, api, options.sessions());
+                Map<String, Scenario> scenarios = Map.of(
+                        "login", new LoginScenario(api, options.sessions() + 1, options.users()),
+                        "refresh", new RefreshScenario(api, sessions),
+                        "me", new ProfileReadScenario(api, sessions),
+                        "update", new ProfileUpdateScenario(api, sessions));
+
+                OpenModelDriver driver = new OpenModelDriver(client, options.maxInFlight(), options.output());
+                List<ScenarioReport> reports = new ArrayList<>();
+                for (Map.Entry<String, Integer> entry : options.scenarioRates().entrySet()) {
+                    Scenario scenario = scenarios.get(entry.getKey());
+                    if (scenario == null) {
+                        throw new IllegalArgumentException("Unknown scenario " + entry.getKey()
+                                + "; expected one of " + scenarios.keySet());
+                    }
+                    ScenarioReport report = driver.run(scenario, entry.getValue(), options.warmup(), options.duration());
+                    log.info("{}: {} requests, error rate {}, latency ms {}",
+                            report.scenario(), report.requests(), String.format("%.4f", report.errorRate()),
+                            report.latencyMillis());
+                    reports.add(report);
+                }
+
+                writeSummary(objectMapper, options, reports);
+            }
+        }
+    }
+
+    private static void writeSummary(ObjectMapper objectMapper, LoadTestOptions options,
+                                     List<ScenarioReport> reports) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", Instant.now().toString());
+        summary.put("users", options.users());
+        summary.put("sessions", options.sessions());
+        summary.put("warmup", options.warmup().toString());
+        summary.put("duration", options.duration().toString());
+        summary.put("database", options.dbUrl() != null ? "external" : "embedded");
+        summary.put("scenarios", reports);
+
+        var file = options.output().resolve("summary.json");
+        objectMapper.writeValue(file.toFile(), summary);
+        log.info("Wrote {}", file.toAbsolutePath());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.pennycontrol.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value
+ *
+ * @param users          users seeded before the run
+ * @param sessions       pre-logged-in users serving refresh, /users/me and profile update traffic
+ * @param scenarioRates  scenario name to arrival rate (requests per second), run in this order
+ * @param warmup         unrecorded traffic per scenario before measuring
+ * @param duration       measured traffic per scenario
+ * @param maxInFlight    requests beyond this many outstanding are dropped and counted as errors
+ * @param dbUrl          external Postgres to use instead of the embedded one, or null
+ */
+public record LoadTestOptions(
+        int users,
+        int sessions,
+        Map<String, Integer> scenarioRates,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        String dbUrl,
+        String dbUsername,
+        String dbPassword,
+        Path output) {
+
+    private static final String DEFAULT_SCENARIOS = "login:20,refresh:100,me:500,update:100";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = CommandLine.parse(args);
+
+        int users = Integer.parseInt(values.getOrDefault("users", "2000"));
+        int sessions = Integer.parseInt(values.getOrDefault("sessions", "200"));
+        if (sessions >= users) {
+            throw new IllegalArgumentException("--sessions must be lower than --users; login traffic uses the rest");
+        }
+
+        Map<String, Integer> scenarioRates = new LinkedHashMap<>();
+        for (String entry : values.getOrDefault("scenarios", DEFAULT_SCENARIOS).split(",")) {
+            String[] parts = entry.split(":");
+            scenarioRates.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+
+        return new LoadTestOptions(
+                users,
+                sessions,
+                scenarioRates,
+                CommandLine.parseDuration(values.getOrDefault("warmup", "15s")),
+                CommandLine.parseDuration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "5000")),
+                values.get("db-url"),
+                values.getOrDefault("db-username", "postgres"),
+                values.getOrDefault("db-password", "postgres"),
+                Path.of(values.getOrDefault("output", System.getProperty("loadtest.output", "build/loadtest"))));
+    }
+}
@@ -0,0 +1,175 @@
+package com.pennycontrol.loadtest;
+
+import com.pennycontrol.loadtest.scenario.Scenario;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests start on a fixed arrival schedule, each on its own
+ * virtual thread, regardless of how long earlier requests take
+ *
+ * A slow server therefore builds up concurrency instead of quietly lowering
+ * the offered load, as a closed loop of N clients would.
+ */
+@Slf4j
+public class OpenModelDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int STATUS_IO_FAILURE = -1;
+
+    private final HttpClient client;
+    private final int maxInFlight;
+    private final Path outputDirectory;
+
+    public OpenModelDriver(HttpClient client, int maxInFlight, Path outputDirectory) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.outputDirectory = outputDirectory;
+    }
+
+    public ScenarioReport run(Scenario scenario, int rate, Duration warmup, Duration duration) throws IOException {
+        log.info("Running {} at {} req/s ({} warmup, {} measured)", scenario.name(), rate, warmup, duration);
+
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        LongAdder arrivals = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        Path logFile = outputDirectory.resolve(scenario.name() + ".hlog");
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (PrintStream logStream = new PrintStream(logFile.toFile())) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(logStream);
+            logWriter.outputComment("[" + scenario.name() + " at " + rate + " req/s, latency in microseconds]");
+            logWriter.outputLogFormatVersion();
+            long measureFromEpochMillis = System.currentTimeMillis()
+                    + TimeUnit.NANOSECONDS.toMillis(measureFrom - System.nanoTime());
+            logWriter.outputStartTime(measureFromEpochMillis);
+            logWriter.setBaseTime(measureFromEpochMillis);
+            logWriter.outputLegend();
+
+            long nextSnapshot = measureFrom;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long i = 0; ; i++) {
+                    long intended = start + i * 1_000_000_000L / rate;
+                    if (intended >= end) {
+                        break;
+                    }
+                    parkUntil(intended);
+
+                    if (intended >= nextSnapshot) {
+                        // Discards warmup samples on the first pass
+                        Histogram interval = recorder.getIntervalHistogram();
+                        if (nextSnapshot > measureFrom) {
+                            total.add(interval);
+                            logWriter.outputIntervalHistogram(interval);
+                        }
+                        nextSnapshot += LOG_INTERVAL_NANOS;
+                    }
+
+                    boolean measured = intended >= measureFrom;
+                    if (measured) {
+                        arrivals.increment();
+                    }
+                    if (!inFlight.tryAcquire()) {
+                        if (measured) {
+                            errors.increment();
+                            statusCounts.computeIfAbsent(Scenario.NOT_SENT, k -> new LongAdder()).increment();
+                        }
+                        continue;
+                    }
+
+                    executor.execute(() -> {
+                        int status;
+                        try {
+                            status = scenario.execute(client);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            status = STATUS_IO_FAILURE;
+                        } catch (Exception ex) {
+                            status = STATUS_IO_FAILURE;
+                        } finally {
+                            inFlight.release();
+                        }
+
+                        if (measured) {
+                            if (status != Scenario.NOT_SENT) {
+                                long micros = (System.nanoTime() - intended) / 1_000;
+                                recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                            }
+                            if (status < 200 || status >= 300) {
+                                errors.increment();
+                            }
+                            statusCounts.computeIfAbsent(status, k -> new LongAdder()).increment();
+                        }
+                    });
+                }
+            }
+
+            // Requests still outstanding at the end completed while the executor closed
+            Histogram last = recorder.getIntervalHistogram();
+            total.add(last);
+            logWriter.outputIntervalHistogram(last);
+        }
+
+        long requests = arrivals.sum();
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(total.getValueAtPercentile(50)));
+        latency.put("p95", millis(total.getValueAtPercentile(95)));
+        latency.put("p99", millis(total.getValueAtPercentile(99)));
+        latency.put("p99.9", millis(total.getValueAtPercentile(99.9)));
+        latency.put("max", millis(total.getMaxValue()));
+        latency.put("mean", total.getMean() / 1_000.0);
+
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+
+        long errorCount = errors.sum();
+        double seconds = duration.toNanos() / 1e9;
+        return new ScenarioReport(
+                scenario.name(),
+                rate,
+                (requests - errorCount) / seconds,
+                requests,
+                errorCount,
+                requests > 0 ? (double) errorCount / requests : 0,
+                latency,
+                statuses,
+                logFile.getFileName().toString());
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pennycontrol.loadtest;
+
+import java.util.Map;
+
+/**
+ * Measured window of one scenario, as written to summary.json
+ *
+ * Latencies are taken from each request's intended start on the arrival
+ * schedule, so queueing in the client or server is included (no coordinated
+ * omission). Errors count non-2xx responses, failed or timed-out requests,
+ * and arrivals dropped at the in-flight limit or with no session to use.
+ *
+ * @param latencyMillis p50, p95, p99, p99.9, max and mean
+ * @param statusCodes   response count per status; 0 = not sent, -1 = I/O failure or timeout
+ */
+public record ScenarioReport(
+        String scenario,
+        int targetRate,
+        double achievedRate,
+        long requests,
+        long errors,
+        double errorRate,
+        Map<String, Double> latencyMillis,
+        Map<Integer, Long> statusCodes,
+        String histogramLog) {
+}
@@ -0,0 +1,103 @@
+package com.pennycontrol.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A packaged Spring Boot jar running as a child process, output redirected to a log file
+ */
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+
+    private final String name;
+    private final Process process;
+
+    private ServiceProcess(String name, Process process) {
+        this.name = name;
+        this.process = process;
+    }
+
+    public static ServiceProcess start(String name, Map<String, String> environment, List<String> args,
+                                       Path logDirectory) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jarPath(name));
+        command.addAll(args);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDirectory.resolve(name + ".log").toFile());
+        builder.environment().putAll(environment);
+
+        log.info("Starting {} (log: {})", name, logDirectory.resolve(name + ".log"));
+        return new ServiceProcess(name, builder.start());
+    }
+
+    /**
+     * Run a one-shot job to completion
+     */
+    public static void runToCompletion(String name, Map<String, String> environment, Path logDirectory)
+            throws IOException, InterruptedException {
+        try (ServiceProcess job = start(name, environment, List.of(), logDirectory)) {
+            int exitCode = job.process.waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException(name + " exited with " + exitCode + "; see its log");
+            }
+        }
+    }
+
+    /**
+     * Block until /actuator/health/readiness reports UP, i.e. after the warmup phase
+     */
+    public void awaitReady(HttpClient client, String baseUrl, Duration timeout) throws InterruptedException {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness")).build();
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + "; see its log");
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("{} ready after {} ms", name, (System.nanoTime() - start) / 1_000_000);
+                    return;
+                }
+            } catch (ConnectException ignored) {
+                // not listening yet
+            } catch (IOException ex) {
+                log.debug("Readiness check of {} failed: {}", name, ex.getMessage());
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException(name + " not ready within " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (process.isAlive()) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static String jarPath(String name) {
+        String jar = System.getProperty("loadtest.jar." + name);
+        if (jar == null) {
+            throw new IllegalStateException("System property loadtest.jar." + name
+                    + " is not set; run through ./gradlew :loadtest:run");
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,92 @@
+package com.pennycontrol.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Postgres the services run against: an embedded server, or an external one from --db-url
+ *
+ * The embedded server comes from Maven-distributed binaries, so the harness
+ * needs no network or Docker once dependencies are cached.
+ */
+@Slf4j
+public class TestDatabase implements AutoCloseable {
+
+    private static final String EMBEDDED_DATABASE = "postgres";
+
+    private final EmbeddedPostgres embedded;
+    private final String host;
+    private final int port;
+    private final String database;
+    private final String username;
+    private final String password;
+
+    private TestDatabase(EmbeddedPostgres embedded, String host, int port, String database,
+                         String username, String password) {
+        this.embedded = embedded;
+        this.host = host;
+        this.port = port;
+        this.database = database;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static TestDatabase start(LoadTestOptions options) throws IOException {
+        return start(options.dbUrl(), options.dbUsername(), options.dbPassword());
+    }
+
+    /**
+     * @param dbUrl external database, or null for an embedded server
+     */
+    public static TestDatabase start(String dbUrl, String dbUsername, String dbPassword) throws IOException {
+        if (dbUrl != null) {
+            // jdbc:postgresql://host:port/database
+            URI uri = URI.create(dbUrl.substring("jdbc:".length()));
+            log.info("Using external Postgres at {}", dbUrl);
+            return new TestDatabase(null, uri.getHost(), uri.getPort() > 0 ? uri.getPort() : 5432,
+                    uri.getPath().substring(1), dbUsername, dbPassword);
+        }
+
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+        log.info("Started embedded Postgres on port {}", embedded.getPort());
+        return new TestDatabase(embedded, "localhost", embedded.getPort(), EMBEDDED_DATABASE, "postgres", "postgres");
+    }
+
+    public String jdbcUrl() {
+        return "jdbc:postgresql://" + host + ":" + port + "/" + database;
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public String database() {
+        return database;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
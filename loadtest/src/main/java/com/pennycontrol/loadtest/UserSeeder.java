@@ -0,0 +1,62 @@
+package com.pennycontrol.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Seeds loadtest-{n}@example.com users (n = 1..count) that share one password
+ *
+ * The BCrypt hash is computed once; hashing per user would dominate seeding
+ * time without changing what the services do at login.
+ */
+@Slf4j
+public class UserSeeder {
+
+    public static final String PASSWORD = "LoadTest#2024";
+
+    private static final String INSERT_USERS = """
+            INSERT INTO users (email, password_hash, name, email_verified)
+            SELECT 'loadtest-' || g || '@example.com', ?, 'Load Test ' || g, true
+            FROM generate_series(1, ?) AS g
+            ON CONFLICT (email) DO NOTHING
+            """;
+
+    private static final String GRANT_ROLE = """
+            INSERT INTO user_roles (user_id, role_id)
+            SELECT u.id, r.id
+            FROM users u
+            JOIN roles r ON r.name = 'ROLE_USER'
+            WHERE u.email LIKE 'loadtest-%@example.com'
+            ON CONFLICT DO NOTHING
+            """;
+
+    public static String email(int n) {
+        return "loadtest-" + n + "@example.com";
+    }
+
+    public static void seed(TestDatabase database, int count) throws SQLException {
+        long start = System.nanoTime();
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        try (Connection connection = DriverManager.getConnection(
+                database.jdbcUrl(), database.username(), database.password())) {
+            connection.setAutoCommit(false);
+            int inserted;
+            try (PreparedStatement users = connection.prepareStatement(INSERT_USERS);
+                 PreparedStatement roles = connection.prepareStatement(GRANT_ROLE)) {
+                users.setString(1, hash);
+                users.setInt(2, count);
+                inserted = users.executeUpdate();
+                roles.executeUpdate();
+            }
+            connection.commit();
+            log.info("Seeded {} users ({} already present) in {} ms",
+                    inserted, count - inserted, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.pennycontrol.loadtest.dataset;
+
+import com.pennycontrol.loadtest.UserSeeder;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills a migrated database with synthetic users, roles and refresh tokens for scale testing
+ *
+ * Users get explicit ids starting after the current maximum and are loaded in
+ * chunks; each chunk streams its users and then their tokens through COPY on
+ * its own connection and commits once. Every user shares the load test
+ * password, so generated accounts can also log in.
+ *
+ * Run with ./gradlew :loadtest:generateDataset -PdatasetArgs="--users=5000000 --seed=7"
+ */
+@Slf4j
+public class DatasetGenerator {
+
+    private static final int CHUNK_SIZE = 50_000;
+
+    private static final String COPY_USERS = """
+            COPY users (id, email, password_hash, name, phone_number, currency, email_verified,
+                        account_locked, enabled, created_at, updated_at, avatar)
+            FROM STDIN
+            """;
+
+    private static final String COPY_TOKENS = """
+            COPY refresh_tokens (user_id, verifier_hash, issued_at, expires_at, revoked_at, is_revoked,
+                                 ip_address, user_agent_id, last_used_at, usage_count)
+            FROM STDIN
+            """;
+
+    /**
+     * Everyone is ROLE_USER; one in a thousand is also ROLE_ADMIN
+     */
+    private static final String GRANT_ROLES = """
+            INSERT INTO user_roles (user_id, role_id)
+            SELECT u.id, r.id
+            FROM users u
+            JOIN roles r ON r.name = 'ROLE_USER' OR (r.name = 'ROLE_ADMIN' AND u.id % 1000 = 0)
+            WHERE u.id BETWEEN ? AND ?
+            """;
+
+    private static final String TRUNCATE = "TRUNCATE users, refresh_tokens, user_agents RESTART IDENTITY CASCADE";
+
+    private final DatasetOptions options;
+    private final String passwordHash;
+    private final AtomicLong usersWritten = new AtomicLong();
+    private final AtomicLong tokensWritten = new AtomicLong();
+    private RowGenerator rows;
+
+    public DatasetGenerator(DatasetOptions options) {
+        this.options = options;
+        this.passwordHash = new BCryptPasswordEncoder().encode(UserSeeder.PASSWORD);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DatasetGenerator(DatasetOptions.parse(args)).generate();
+    }
+
+    public void generate() throws SQLException, InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        long firstId;
+        UserAgentCatalog userAgents = new UserAgentCatalog();
+
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                if (options.truncate()) {
+                    log.info("Truncating users, refresh_tokens and user_agents");
+                    statement.execute(TRUNCATE);
+                }
+                try (ResultSet rs = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM users")) {
+                    rs.next();
+                    firstId = rs.getLong(1);
+                }
+            }
+            userAgents.register(connection);
+        }
+        rows = new RowGenerator(options, userAgents);
+
+        log.info("Generating {} users from id {} with seed {} on {} connections ({} user agents)",
+                options.users(), firstId, options.seed(), options.parallelism(), userAgents.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.parallelism());
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            long lastId = firstId + options.users() - 1;
+            for (long from = firstId; from <= lastId; from += CHUNK_SIZE) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(lastId, from + CHUNK_SIZE - 1);
+                chunks.add(executor.submit(() -> {
+                    writeChunk(chunkFrom, chunkTo);
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Loaded {} users and {} refresh tokens in {} s; analyzing",
+                usersWritten.get(), tokensWritten.get(), (System.nanoTime() - start) / 1_000_000_000);
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // users ids were explicit; move the pooled sequence past them
+            statement.execute("SELECT setval('users_id_seq', (SELECT max(id) FROM users))");
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE user_roles");
+            statement.execute("ANALYZE refresh_tokens");
+        }
+        log.info("Done in {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private void writeChunk(long fromId, long toId) throws SQLException {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            try (TextCopyWriter users = new TextCopyWriter(copyManager, COPY_USERS)) {
+                for (long id = fromId; id <= toId; id++) {
+                    writeUser(users, rows.user(id, rows.randomFor(id)));
+                }
+                usersWritten.addAndGet(users.finish());
+            }
+
+            long tokenCount;
+            try (TextCopyWriter tokens = new TextCopyWriter(copyManager, COPY_TOKENS)) {
+                for (long id = fromId; id <= toId; id++) {
+                    SplittableRandom random = rows.randomFor(id);
+                    for (RowGenerator.Token token : rows.tokens(rows.user(id, random), random)) {
+                        writeToken(tokens, token);
+                    }
+                }
+                tokenCount = tokens.finish();
+            }
+
+            try (PreparedStatement grant = connection.prepareStatement(GRANT_ROLES)) {
+                grant.setLong(1, fromId);
+                grant.setLong(2, toId);
+                grant.executeUpdate();
+            }
+            connection.commit();
+
+            long total = tokensWritten.addAndGet(tokenCount);
+            log.info("Users {}..{} done ({} users, {} tokens so far)", fromId, toId, usersWritten.get(), total);
+        }
+    }
+
+    private void writeUser(TextCopyWriter out, RowGenerator.User user) throws SQLException {
+        out.field(user.id())
+                .field(user.email())
+                .field(passwordHash)
+                .field(user.name())
+                .field(user.phoneNumber())
+                .field(user.currency())
+                .field(user.emailVerified())
+                .field(user.accountLocked())
+                .field(user.enabled())
+                .field(user.createdAt())
+                .field(user.updatedAt())
+                .field(user.avatar())
+                .endRow();
+    }
+
+    private void writeToken(TextCopyWriter out, RowGenerator.Token token) throws SQLException {
+        out.field(token.userId())
+                .bytea(token.verifierHash())
+                .field(token.issuedAt())
+                .field(token.expiresAt())
+                .field(token.revokedAt())
+                .field(token.revokedAt() != null)
+                .field(token.ipAddress())
+                .field(token.userAgentId())
+                .field(token.lastUsedAt())
+                .field(token.usageCount())
+                .endRow();
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(options.dbUrl(), options.dbUsername(), options.dbPassword());
+    }
+}
@@ -0,0 +1,72 @@
+package com.pennycontrol.loadtest.dataset;
+
+import com.pennycontrol.loadtest.CommandLine;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Dataset generator options, given as --name=value
+ *
+ * @param users             users to generate
+ * @param seed              same seed and options produce the same rows
+ * @param now               reference time all timestamps are relative to (default: today 00:00 UTC)
+ * @param sessionAlpha      Pareto shape of refresh tokens per user; lower is more skewed (mean = a / (a - 1))
+ * @param maxSessions       cap on refresh tokens per user
+ * @param maxActiveSessions active tokens beyond this are generated as revoked, like the login-time cap
+ * @param noSessionRatio    share of users without any refresh token
+ * @param expiredRatio      share of tokens already past expires_at
+ * @param revokedRatio      share of tokens revoked before expiring
+ * @param tokenLifetime     refresh token lifetime
+ * @param expiredWindow     how long expired tokens linger before cleanup; their expiry is spread over it
+ * @param userHistory       how far back users were created
+ * @param parallelism       concurrent COPY connections; token ids are only reproducible with 1
+ * @param truncate          empty the generated tables first
+ */
+public record DatasetOptions(
+        long users,
+        long seed,
+        LocalDateTime now,
+        double sessionAlpha,
+        int maxSessions,
+        int maxActiveSessions,
+        double noSessionRatio,
+        double expiredRatio,
+        double revokedRatio,
+        Duration tokenLifetime,
+        Duration expiredWindow,
+        Duration userHistory,
+        int parallelism,
+        boolean truncate,
+        String dbUrl,
+        String dbUsername,
+        String dbPassword) {
+
+    public static DatasetOptions parse(String[] args) {
+        Map<String, String> values = CommandLine.parse(args);
+
+        String now = values.get("now");
+        return new DatasetOptions(
+                Long.parseLong(values.getOrDefault("users", "1000000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                now != null ? LocalDateTime.parse(now) : LocalDate.now(ZoneOffset.UTC).atStartOfDay(),
+                Double.parseDouble(values.getOrDefault("session-alpha", "1.4")),
+                Integer.parseInt(values.getOrDefault("max-sessions", "500")),
+                Integer.parseInt(values.getOrDefault("max-active-sessions", "10")),
+                Double.parseDouble(values.getOrDefault("no-session-ratio", "0.2")),
+                Double.parseDouble(values.getOrDefault("expired-ratio", "0.3")),
+                Double.parseDouble(values.getOrDefault("revoked-ratio", "0.15")),
+                CommandLine.parseDuration(values.getOrDefault("token-lifetime", "30d")),
+                CommandLine.parseDuration(values.getOrDefault("expired-window", "90d")),
+                CommandLine.parseDuration(values.getOrDefault("user-history", "1095d")),
+                Integer.parseInt(values.getOrDefault("parallelism",
+                        String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)))),
+                Boolean.parseBoolean(values.getOrDefault("truncate", "false")),
+                values.getOrDefault("db-url", "jdbc:postgresql://localhost:5432/penny_control_db"),
+                values.getOrDefault("db-username", "postgres"),
+                values.getOrDefault("db-password", "postgres"));
+    }
+}
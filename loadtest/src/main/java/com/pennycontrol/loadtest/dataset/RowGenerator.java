@@ -0,0 +1,223 @@
+package com.pennycontrol.loadtest.dataset;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates one user and their refresh tokens from (seed, user id)
+ *
+ * Every user draws from a random seeded by their own id, so a user's rows do
+ * not depend on parallelism or on which chunk produced them, and the users
+ * pass and the tokens pass can regenerate the same user independently.
+ */
+class RowGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Wei", "Fatima", "Carlos", "Aiko", "Olivia", "Noah", "Priya", "Liam",
+            "Sofia", "Mateo", "Emma", "Yusuf", "Chloe", "Arjun", "Hana", "Lucas", "Amara", "Ivan",
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Garcia", "Chen", "Khan", "Silva", "Tanaka", "Johnson", "Muller", "Patel", "Kim",
+            "Rossi", "Novak", "Brown", "Haddad", "Dubois", "Singh", "Sato", "Kowalski", "Okafor", "Ivanov",
+    };
+
+    private static final String[] EMAIL_DOMAINS = {"gmail.com", "outlook.com", "yahoo.com", "icloud.com", "example.org"};
+    private static final double[] EMAIL_DOMAIN_WEIGHTS = {0.55, 0.7, 0.8, 0.9, 1.0};
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "INR", "JPY"};
+    private static final double[] CURRENCY_WEIGHTS = {0.6, 0.8, 0.88, 0.95, 1.0};
+
+    private final DatasetOptions options;
+    private final UserAgentCatalog userAgents;
+    private final long expiredWindowSeconds;
+    private final long lifetimeSeconds;
+    private final long historySeconds;
+
+    RowGenerator(DatasetOptions options, UserAgentCatalog userAgents) {
+        this.options = options;
+        this.userAgents = userAgents;
+        this.expiredWindowSeconds = options.expiredWindow().toSeconds();
+        this.lifetimeSeconds = options.tokenLifetime().toSeconds();
+        this.historySeconds = options.userHistory().toSeconds();
+    }
+
+    SplittableRandom randomFor(long userId) {
+        return new SplittableRandom(options.seed() ^ (userId * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Draws the user's columns; the random is left positioned for {@link #tokens}
+     */
+    User user(long userId, SplittableRandom random) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String domain = EMAIL_DOMAINS[pick(EMAIL_DOMAIN_WEIGHTS, random)];
+
+        // Squaring skews sign-ups towards the recent end of the history
+        double age = random.nextDouble();
+        LocalDateTime createdAt = options.now().minusSeconds((long) (age * age * historySeconds));
+        long sinceCreated = Duration.between(createdAt, options.now()).toSeconds();
+
+        return new User(
+                userId,
+                (first + "." + last + "." + userId + "@" + domain).toLowerCase(),
+                first + " " + last,
+                random.nextDouble() < 0.3 ? "+1" + (2_000_000_000L + userId) : null,
+                CURRENCIES[pick(CURRENCY_WEIGHTS, random)],
+                random.nextDouble() < 0.8,
+                random.nextDouble() < 0.01,
+                random.nextDouble() < 0.98,
+                createdAt,
+                createdAt.plusSeconds((long) (random.nextDouble() * sinceCreated)),
+                random.nextDouble() < 0.2 ? "https://cdn.example.com/avatars/" + userId + ".png" : null);
+    }
+
+    /**
+     * The user's refresh tokens, oldest first
+     *
+     * Counts follow a Pareto distribution, so most users have a few sessions
+     * and a small share has hundreds. Active tokens beyond the session cap
+     * are revoked at the moment the next login evicted them, matching what
+     * the login path leaves behind.
+     */
+    List<Token> tokens(User user, SplittableRandom random) {
+        if (random.nextDouble() < options.noSessionRatio()) {
+            return List.of();
+        }
+        int count = (int) Math.min(options.maxSessions(),
+                Math.floor(1.0 / Math.pow(1.0 - random.nextDouble(), 1.0 / options.sessionAlpha())));
+
+        String[] homeAddresses = new String[1 + random.nextInt(3)];
+        for (int i = 0; i < homeAddresses.length; i++) {
+            homeAddresses[i] = ipAddress(random);
+        }
+        int homeAgent = userAgents.sample(random);
+
+        LocalDateTime now = options.now();
+        long sinceCreated = Math.max(0, Duration.between(user.createdAt(), now).toSeconds());
+        List<Token> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime issuedAt;
+            long expiredSpan = Math.min(expiredWindowSeconds, sinceCreated - lifetimeSeconds);
+            if (expiredSpan > 0 && random.nextDouble() < options.expiredRatio()) {
+                issuedAt = now.minusSeconds(lifetimeSeconds + 1 + random.nextLong(expiredSpan));
+            } else {
+                issuedAt = now.minusSeconds(random.nextLong(Math.max(1, Math.min(lifetimeSeconds, sinceCreated))));
+            }
+            LocalDateTime expiresAt = issuedAt.plusSeconds(lifetimeSeconds);
+            LocalDateTime endOfLife = expiresAt.isBefore(now) ? expiresAt : now;
+
+            LocalDateTime revokedAt = random.nextDouble() < options.revokedRatio()
+                    ? between(issuedAt, endOfLife, random)
+                    : null;
+            LocalDateTime lastActive = revokedAt != null ? revokedAt : endOfLife;
+
+            // Geometric: most tokens are refreshed a few times, some never
+            int usageCount = (int) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(0.7));
+            LocalDateTime lastUsedAt = usageCount > 0 ? between(issuedAt, lastActive, random) : null;
+
+            byte[] verifierHash = new byte[32];
+            random.nextBytes(verifierHash);
+
+            tokens.add(new Token(
+                    user.id(),
+                    verifierHash,
+                    issuedAt,
+                    expiresAt,
+                    revokedAt,
+                    random.nextDouble() < 0.85 ? homeAddresses[random.nextInt(homeAddresses.length)] : ipAddress(random),
+                    random.nextDouble() < 0.9 ? homeAgent : userAgents.sample(random),
+                    lastUsedAt,
+                    usageCount));
+        }
+
+        tokens.sort(Comparator.comparing(Token::issuedAt));
+        return applySessionCap(tokens);
+    }
+
+    private List<Token> applySessionCap(List<Token> tokens) {
+        int cap = options.maxActiveSessions();
+        if (cap <= 0) {
+            return tokens;
+        }
+        int active = 0;
+        LocalDateTime evictedBy = null;
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            Token token = tokens.get(i);
+            if (token.revokedAt() == null && token.expiresAt().isAfter(options.now())) {
+                if (active++ >= cap) {
+                    tokens.set(i, token.revokedAt(evictedBy));
+                }
+            }
+            if (active == cap && evictedBy == null) {
+                evictedBy = token.issuedAt();
+            }
+        }
+        return tokens;
+    }
+
+    private static String ipAddress(SplittableRandom random) {
+        if (random.nextDouble() < 0.1) {
+            return String.format("2001:db8:%x:%x::%x", random.nextInt(0x10000), random.nextInt(0x10000),
+                    1 + random.nextInt(0xFFFF));
+        }
+        int first = 11 + random.nextInt(212);
+        if (first == 127) {
+            first = 128;
+        }
+        return first + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + (1 + random.nextInt(254));
+    }
+
+    private static LocalDateTime between(LocalDateTime from, LocalDateTime to, SplittableRandom random) {
+        long span = Duration.between(from, to).toSeconds();
+        return span > 0 ? from.plusSeconds(random.nextLong(span)) : from;
+    }
+
+    private static int pick(double[] cumulativeWeights, SplittableRandom random) {
+        double value = random.nextDouble();
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    record User(
+            long id,
+            String email,
+            String name,
+            String phoneNumber,
+            String currency,
+            boolean emailVerified,
+            boolean accountLocked,
+            boolean enabled,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            String avatar) {
+    }
+
+    record Token(
+            long userId,
+            byte[] verifierHash,
+            LocalDateTime issuedAt,
+            LocalDateTime expiresAt,
+            LocalDateTime revokedAt,
+            String ipAddress,
+            int userAgentId,
+            LocalDateTime lastUsedAt,
+            int usageCount) {
+
+        Token revokedAt(LocalDateTime at) {
+            return new Token(userId, verifierHash, issuedAt, expiresAt, at, ipAddress, userAgentId,
+                    lastUsedAt != null && lastUsedAt.isAfter(at) ? at : lastUsedAt, usageCount);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.pennycontrol.loadtest.dataset;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes rows for COPY ... FROM STDIN in text format, flushing to the driver in 256 KiB chunks
+ *
+ * Generated values never contain tabs, newlines or backslashes, so fields
+ * are written without escaping.
+ */
+class TextCopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD = 256 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+    private boolean firstField = true;
+    private long rowCount;
+    private boolean finished;
+
+    TextCopyWriter(CopyManager copyManager, String copySql) throws SQLException {
+        this.copyIn = copyManager.copyIn(copySql);
+    }
+
+    TextCopyWriter field(String value) {
+        separator();
+        buffer.append(value != null ? value : "\\N");
+        return this;
+    }
+
+    TextCopyWriter field(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    TextCopyWriter field(boolean value) {
+        separator();
+        buffer.append(value ? 't' : 'f');
+        return this;
+    }
+
+    TextCopyWriter field(LocalDateTime value) {
+        return field(value != null ? TIMESTAMP.format(value) : null);
+    }
+
+    TextCopyWriter bytea(byte[] value) {
+        separator();
+        buffer.append("\\\\x");
+        for (byte b : value) {
+            buffer.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+        }
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        rowCount++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flushBuffer();
+        }
+    }
+
+    long finish() throws SQLException {
+        flushBuffer();
+        finished = true;
+        copyIn.endCopy();
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!finished && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void separator() {
+        if (!firstField) {
+            buffer.append('\t');
+        }
+        firstField = false;
+    }
+
+    private void flushBuffer() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.pennycontrol.loadtest.dataset;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A fixed set of browser and app user agents with a Zipf popularity curve
+ *
+ * Strings are combinations of platform, browser and version, so the set is
+ * the same for every seed; a handful dominate and the tail is long, like
+ * the user_agents dictionary in production.
+ */
+class UserAgentCatalog {
+
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    private static final String[] PLATFORMS = {
+            "Windows NT 10.0; Win64; x64",
+            "Macintosh; Intel Mac OS X 10_15_7",
+            "X11; Linux x86_64",
+            "iPhone; CPU iPhone OS 17_5 like Mac OS X",
+            "Linux; Android 14; Pixel 8",
+            "Linux; Android 13; SM-S911B",
+            "iPad; CPU OS 17_5 like Mac OS X",
+    };
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_agents (ua_hash, user_agent)
+            SELECT sha256(convert_to(ua, 'UTF8')), ua
+            FROM unnest(?) AS ua
+            ON CONFLICT (ua_hash) DO NOTHING
+            """;
+
+    private static final String SELECT_SQL = "SELECT id, user_agent FROM user_agents WHERE user_agent = ANY(?)";
+
+    private final List<String> userAgents;
+    private final double[] cumulativeWeights;
+    private int[] ids;
+
+    UserAgentCatalog() {
+        this.userAgents = generate();
+        this.cumulativeWeights = new double[userAgents.size()];
+        double total = 0;
+        for (int rank = 0; rank < userAgents.size(); rank++) {
+            total += 1.0 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulativeWeights[rank] = total;
+        }
+        for (int rank = 0; rank < cumulativeWeights.length; rank++) {
+            cumulativeWeights[rank] /= total;
+        }
+    }
+
+    /**
+     * Make sure every catalog entry exists in user_agents and remember its id
+     */
+    void register(Connection connection) throws SQLException {
+        Array values = connection.createArrayOf("text", userAgents.toArray());
+        try (PreparedStatement upsert = connection.prepareStatement(UPSERT_SQL);
+             PreparedStatement select = connection.prepareStatement(SELECT_SQL)) {
+            upsert.setArray(1, values);
+            upsert.executeUpdate();
+
+            select.setArray(1, values);
+            Map<String, Integer> idsByAgent = new HashMap<>();
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    idsByAgent.put(rs.getString("user_agent"), rs.getInt("id"));
+                }
+            }
+            ids = userAgents.stream().mapToInt(idsByAgent::get).toArray();
+        }
+    }
+
+    int size() {
+        return userAgents.size();
+    }
+
+    /**
+     * user_agents.id of a popularity-weighted pick
+     */
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        int rank = index >= 0 ? index : Math.min(-index - 1, cumulativeWeights.length - 1);
+        return ids[rank];
+    }
+
+    // Most popular first: newer versions of each browser rank above older ones
+    private static List<String> generate() {
+        List<String> agents = new ArrayList<>();
+        for (int age = 0; age < 6; age++) {
+            for (String platform : PLATFORMS) {
+                int chrome = 126 - age;
+                agents.add("Mozilla/5.0 (" + platform + ") AppleWebKit/537.36 (KHTML, like Gecko) Chrome/"
+                        + chrome + ".0.0.0 " + (platform.contains("Android") ? "Mobile " : "") + "Safari/537.36");
+                if (platform.contains("Mac") || platform.contains("iPhone") || platform.contains("iPad")) {
+                    agents.add("Mozilla/5.0 (" + platform + ") AppleWebKit/605.1.15 (KHTML, like Gecko) Version/"
+                            + (17 - age / 2) + "." + (5 - age % 2) + " Safari/605.1.15");
+                }
+                if (!platform.contains("iP")) {
+                    agents.add("Mozilla/5.0 (" + platform + "; rv:" + (127 - age) + ".0) Gecko/20100101 Firefox/"
+                            + (127 - age) + ".0");
+                }
+                if (platform.startsWith("Windows") || platform.startsWith("Macintosh")) {
+                    agents.add("Mozilla/5.0 (" + platform + ") AppleWebKit/537.36 (KHTML, like Gecko) Chrome/"
+                            + chrome + ".0.0.0 Safari/537.36 Edg/" + chrome + ".0.0.0");
+                }
+            }
+            for (String os : new String[] {"iOS 17." + (5 - age % 3), "Android " + (14 - age / 2)}) {
+                agents.add("PennyControl/" + (3 - age / 3) + "." + (9 - age) + ".0 (" + os + ")");
+            }
+        }
+        agents.add("okhttp/4.12.0");
+        agents.add("curl/8.5.0");
+        agents.add("python-requests/2.32.3");
+        return List.copyOf(agents);
+    }
+}
@@ -0,0 +1,82 @@
+package com.pennycontrol.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Request builders and response parsing shared by the scenarios
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String authBaseUrl;
+    private final String userBaseUrl;
+    private final ObjectMapper objectMapper;
+
+    public ApiClient(String authBaseUrl, String userBaseUrl, ObjectMapper objectMapper) {
+        this.authBaseUrl = authBaseUrl;
+        this.userBaseUrl = userBaseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    public HttpRequest login(String email, String password) {
+        return post(authBaseUrl + "/api/v1/auth/login", Map.of("email", email, "password", password));
+    }
+
+    public HttpRequest refresh(String refreshToken) {
+        return post(authBaseUrl + "/api/v1/auth/refresh", Map.of("refreshToken", refreshToken));
+    }
+
+    public HttpRequest getProfile(String accessToken) {
+        return HttpRequest.newBuilder(URI.create(userBaseUrl + "/api/v1/users/me"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+    }
+
+    public HttpRequest updateProfile(String accessToken, String name) {
+        return HttpRequest.newBuilder(URI.create(userBaseUrl + "/api/v1/users/me"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(json(Map.of("name", name))))
+                .build();
+    }
+
+    /**
+     * Tokens from an AuthResponse envelope, or null if the call failed
+     */
+    public Session session(int user, HttpResponse<byte[]> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode data = objectMapper.readTree(response.body()).path("data");
+        return new Session(user, data.path("accessToken").asText(), data.path("refreshToken").asText());
+    }
+
+    private HttpRequest post(String url, Object body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(body)))
+                .build();
+    }
+
+    private byte[] json(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pennycontrol.loadtest.scenario;
+
+import com.pennycontrol.loadtest.UserSeeder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * POST /api/v1/auth/login, cycling through the users not reserved for sessions
+ *
+ * Kept apart from session users so the per-user session cap never revokes
+ * the refresh tokens other scenarios depend on.
+ */
+public class LoginScenario implements Scenario {
+
+    private final ApiClient api;
+    private final int firstUser;
+    private final int userCount;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public LoginScenario(ApiClient api, int firstUser, int lastUser) {
+        this.api = api;
+        this.firstUser = firstUser;
+        this.userCount = lastUser - firstUser + 1;
+    }
+
+    @Override
+    public String name() {
+        return "login";
+    }
+
+    @Override
+    public int execute(HttpClient client) throws IOException, InterruptedException {
+        int user = firstUser + Math.floorMod(next.getAndIncrement(), userCount);
+        return client.send(api.login(UserSeeder.email(user), UserSeeder.PASSWORD),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
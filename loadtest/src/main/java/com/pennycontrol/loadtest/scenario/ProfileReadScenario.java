@@ -0,0 +1,30 @@
+package com.pennycontrol.loadtest.scenario;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+
+/**
+ * GET /api/v1/users/me
+ */
+public class ProfileReadScenario implements Scenario {
+
+    private final ApiClient api;
+    private final SessionPool sessions;
+
+    public ProfileReadScenario(ApiClient api, SessionPool sessions) {
+        this.api = api;
+        this.sessions = sessions;
+    }
+
+    @Override
+    public String name() {
+        return "me";
+    }
+
+    @Override
+    public int execute(HttpClient client) throws IOException, InterruptedException {
+        return client.send(api.getProfile(sessions.next().accessToken()),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
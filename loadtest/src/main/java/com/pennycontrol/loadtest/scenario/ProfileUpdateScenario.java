@@ -0,0 +1,34 @@
+package com.pennycontrol.loadtest.scenario;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PUT /api/v1/users/me with a changing display name
+ */
+public class ProfileUpdateScenario implements Scenario {
+
+    private final ApiClient api;
+    private final SessionPool sessions;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ProfileUpdateScenario(ApiClient api, SessionPool sessions) {
+        this.api = api;
+        this.sessions = sessions;
+    }
+
+    @Override
+    public String name() {
+        return "update";
+    }
+
+    @Override
+    public int execute(HttpClient client) throws IOException, InterruptedException {
+        Session session = sessions.next();
+        String name = "Load Test " + session.user() + " #" + sequence.incrementAndGet();
+        return client.send(api.updateProfile(session.accessToken(), name),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,40 @@
+package com.pennycontrol.loadtest.scenario;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+
+/**
+ * POST /api/v1/auth/refresh, rotating each session's refresh token
+ */
+public class RefreshScenario implements Scenario {
+
+    private final ApiClient api;
+    private final SessionPool sessions;
+
+    public RefreshScenario(ApiClient api, SessionPool sessions) {
+        this.api = api;
+        this.sessions = sessions;
+    }
+
+    @Override
+    public String name() {
+        return "refresh";
+    }
+
+    @Override
+    public int execute(HttpClient client) throws IOException, InterruptedException {
+        Session session = sessions.takeRefreshable();
+        if (session == null) {
+            return NOT_SENT;
+        }
+
+        HttpResponse<byte[]> response = client.send(api.refresh(session.refreshToken()),
+                HttpResponse.BodyHandlers.ofByteArray());
+        Session rotated = api.session(session.user(), response);
+        if (rotated != null) {
+            sessions.returnRefreshable(rotated);
+        }
+        return response.statusCode();
+    }
+}
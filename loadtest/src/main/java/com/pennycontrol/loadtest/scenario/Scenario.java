@@ -0,0 +1,22 @@
+package com.pennycontrol.loadtest.scenario;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+
+/**
+ * One kind of request driven at a fixed arrival rate
+ */
+public interface Scenario {
+
+    /**
+     * Status code reported when the scenario had nothing to send (e.g. no session left)
+     */
+    int NOT_SENT = 0;
+
+    String name();
+
+    /**
+     * Send one request and return its HTTP status; 2xx counts as success
+     */
+    int execute(HttpClient client) throws IOException, InterruptedException;
+}
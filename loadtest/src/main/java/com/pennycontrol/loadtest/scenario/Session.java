@@ -0,0 +1,7 @@
+package com.pennycontrol.loadtest.scenario;
+
+/**
+ * Tokens of one logged-in user
+ */
+public record Session(int user, String accessToken, String refreshToken) {
+}
@@ -0,0 +1,94 @@
+package com.pennycontrol.loadtest.scenario;
+
+import com.pennycontrol.loadtest.UserSeeder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logged-in users 1..n, shared by the token-authenticated scenarios
+ *
+ * Read and update traffic round-robins over the sessions created up front;
+ * their access tokens stay valid when refresh rotates the refresh token.
+ * Refresh traffic takes a session from the queue and returns the rotated one.
+ */
+@Slf4j
+public class SessionPool {
+
+    private static final int LOGIN_CONCURRENCY = 32;
+
+    private final List<Session> sessions;
+    private final Queue<Session> refreshable;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private SessionPool(List<Session> sessions) {
+        this.sessions = sessions;
+        this.refreshable = new ConcurrentLinkedQueue<>(sessions);
+    }
+
+    public static SessionPool login(HttpClient client, ApiClient api, int count) throws Exception {
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(LOGIN_CONCURRENCY);
+        List<Future<Session>> futures = new ArrayList<>(count);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 1; user <= count; user++) {
+                int n = user;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        HttpResponse<byte[]> response = client.send(
+                                api.login(UserSeeder.email(n), UserSeeder.PASSWORD),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        return api.session(n, response);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Session> sessions = new ArrayList<>(count);
+        for (Future<Session> future : futures) {
+            Session session = future.get();
+            if (session != null) {
+                sessions.add(session);
+            }
+        }
+        if (sessions.isEmpty()) {
+            throw new IllegalStateException("No session could be created; see auth-service.log");
+        }
+
+        log.info("Logged in {} of {} session users in {} ms",
+                sessions.size(), count, (System.nanoTime() - start) / 1_000_000);
+        return new SessionPool(List.copyOf(sessions));
+    }
+
+    /**
+     * Next session round-robin, for requests that only need an access token
+     */
+    public Session next() {
+        return sessions.get(Math.floorMod(next.getAndIncrement(), sessions.size()));
+    }
+
+    /**
+     * Take a session for exclusive use (refresh rotates its token), or null if all are in use
+     */
+    public Session takeRefreshable() {
+        return refreshable.poll();
+    }
+
+    public void returnRefreshable(Session session) {
+        refreshable.offer(session);
+    }
+}
@@ -1,9 +1,15 @@
 package com.pennycontrol.userservice;
 
 import com.pennycontrol.common.annotation.EnableCors;
+import com.pennycontrol.common.annotation.EnableDiagnostics;
 import com.pennycontrol.common.annotation.EnableExceptionHandling;
 import com.pennycontrol.common.annotation.EnableJwt;
+import com.pennycontrol.common.annotation.EnableOutbox;
+import com.pennycontrol.common.annotation.EnableReadReplicaRouting;
+import com.pennycontrol.common.annotation.EnableSchemaVersionCheck;
 import com.pennycontrol.common.annotation.EnableSecurity;
+import com.pennycontrol.common.annotation.EnableTokenRevocation;
+import com.pennycontrol.common.annotation.EnableWarmup;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -20,6 +26,12 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EnableSecurity
 @EnableCors
 @EnableExceptionHandling
+@EnableDiagnostics
+@EnableTokenRevocation
+@EnableSchemaVersionCheck
+@EnableWarmup
+@EnableOutbox
+@EnableReadReplicaRouting
 public class UserServiceApplication {
 
     public static void main(String[] args) {
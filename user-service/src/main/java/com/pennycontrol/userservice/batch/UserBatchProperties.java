@@ -0,0 +1,28 @@
+package com.pennycontrol.userservice.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-batch")
+public class UserBatchProperties {
+
+    /**
+     * Maximum distinct ids accepted by POST /api/v1/users/batch
+     */
+    private int maxIds = 200;
+
+    /**
+     * How long a resolved user summary is served from memory
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound of cached summaries; beyond it the least recently read is dropped
+     */
+    private int cacheMaxEntries = 50_000;
+}
@@ -0,0 +1,118 @@
+package com.pennycontrol.userservice.batch;
+
+import com.pennycontrol.userservice.repository.UserSummaryRepository.UserSummary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-id cache of user summaries for the batch lookup
+ *
+ * Entries expire after user-batch.cache-ttl, which bounds staleness across
+ * instances. Profile changes and deletions made through this instance evict
+ * the user when their transaction commits. Ids that were not found are never
+ * cached, so a new user shows up on the next lookup. Beyond
+ * user-batch.cache-max-entries the least recently read user makes room for
+ * the new one.
+ */
+@Component
+public class UserSummaryCache {
+
+    private final UserBatchProperties properties;
+
+    /**
+     * Access-ordered, so the least recently read user is dropped first when full.
+     * Guarded by itself; every operation is O(1).
+     */
+    private final LinkedHashMap<Long, CachedSummary> entries;
+
+    /**
+     * Bumped by every eviction, guarded by entries. One counter for all ids: evictions
+     * are rare, and a per-id counter would have to outlive the entry it guards
+     */
+    private long generation;
+
+    public UserSummaryCache(UserBatchProperties properties) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSummary> eldest) {
+                return size() > properties.getCacheMaxEntries();
+            }
+        };
+    }
+
+    /**
+     * Cached summary, or null when absent or expired
+     */
+    public UserSummary get(Long id) {
+        synchronized (entries) {
+            CachedSummary entry = entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                entries.remove(id);
+                return null;
+            }
+            return entry.summary();
+        }
+    }
+
+    /**
+     * Eviction count so far; take it before reading the rows that will be put
+     */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Cache a summary read after generation() returned readGeneration
+     * Dropped when any user was evicted since: the row may predate that change
+     */
+    public void put(UserSummary summary, long readGeneration) {
+        CachedSummary entry = new CachedSummary(summary, System.nanoTime() + properties.getCacheTtl().toNanos());
+        synchronized (entries) {
+            if (generation == readGeneration) {
+                entries.put(summary.id(), entry);
+            }
+        }
+    }
+
+    public void evict(Long id) {
+        synchronized (entries) {
+            entries.remove(id);
+            generation++;
+        }
+    }
+
+    /**
+     * Evict once the current transaction commits
+     * A lookup that read the old row before the commit cannot put it back afterwards,
+     * since the eviction moves the generation it read under
+     */
+    public void evictAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    private record CachedSummary(UserSummary summary, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.pennycontrol.userservice.controller;
 
+import com.pennycontrol.common.annotation.RequireRole;
 import com.pennycontrol.common.dto.ApiResponse;
 import com.pennycontrol.userservice.dto.request.UpdateUserProfileRequest;
+import com.pennycontrol.userservice.dto.request.UserBatchRequest;
+import com.pennycontrol.userservice.dto.response.UserBatchResponse;
 import com.pennycontrol.userservice.dto.response.UserResponse;
+import com.pennycontrol.userservice.service.UserBatchService;
 import com.pennycontrol.userservice.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserBatchService userBatchService;
 
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser() {
@@ -45,4 +50,19 @@ public class UserController {
 
         return ResponseEntity.ok(ApiResponse.success("Account successfully deleted"));
     }
+
+    /**
+     * Display fields of several users in one call, for internal callers rendering lists
+     * Unknown or disabled ids are reported in "missing" instead of failing the request
+     */
+    @PostMapping("/batch")
+    @RequireRole({"ROLE_SERVICE", "ROLE_ADMIN"})
+    public ResponseEntity<ApiResponse<UserBatchResponse>> getUsersBatch(
+            @Valid @RequestBody UserBatchRequest request) {
+        log.debug("Received batch lookup request for {} ids", request.getIds().size());
+
+        UserBatchResponse response = userBatchService.findUsers(request.getIds());
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
@@ -0,0 +1,65 @@
+package com.pennycontrol.userservice.controller;
+
+import com.pennycontrol.common.annotation.RequireRole;
+import com.pennycontrol.common.exception.ValidationException;
+import com.pennycontrol.userservice.service.UserExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+public class UserExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final UserExportService userExportService;
+
+    /**
+     * Full user export as a gzip-compressed NDJSON or CSV download
+     * Written while it is read from the database; nothing is buffered in full
+     */
+    @GetMapping("/export")
+    @RequireRole("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        UserExportService.Format exportFormat = resolveFormat(format);
+        log.info("Received user export request ({})", exportFormat);
+
+        String filename = "users-" + LocalDate.now() + "." + exportFormat.name().toLowerCase(Locale.ROOT) + ".gz";
+
+        StreamingResponseBody body = outputStream -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            userExportService.exportUsers(gzip, exportFormat);
+            gzip.finish();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private UserExportService.Format resolveFormat(String format) {
+        try {
+            return UserExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("format must be 'ndjson' or 'csv'");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.pennycontrol.userservice.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+
+    @NotEmpty(message = "ids must not be empty")
+    private List<@NotNull(message = "ids must not contain null") Long> ids;
+}
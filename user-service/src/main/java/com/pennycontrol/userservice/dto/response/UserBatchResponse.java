@@ -0,0 +1,26 @@
+package com.pennycontrol.userservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponse {
+
+    /**
+     * Found users keyed by id, in request order
+     */
+    private Map<Long, UserSummaryResponse> users;
+
+    /**
+     * Requested ids with no enabled user
+     */
+    private List<Long> missing;
+}
@@ -0,0 +1,52 @@
+package com.pennycontrol.userservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Display-field projection of users for batch lookups
+ *
+ * One statement per batch: the ids are bound as a single bigint[] so the
+ * SQL text (and its cached plan) does not depend on the batch size, and
+ * Postgres resolves them with one scan of users_pkey. Disabled (deleted)
+ * accounts are left out and reported as missing.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSummaryRepository {
+
+    private static final String FIND_BY_IDS_SQL = """
+            SELECT id, name, currency, avatar
+            FROM users
+            WHERE id = ANY(?)
+              AND enabled = true
+            """;
+
+    private static final RowMapper<UserSummary> ROW_MAPPER = (rs, rowNum) -> new UserSummary(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("currency"),
+            rs.getString("avatar"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Summaries of the enabled users among the ids, in no particular order
+     */
+    public List<UserSummary> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_BY_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                ROW_MAPPER);
+    }
+
+    public record UserSummary(Long id, String name, String currency, String avatar) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.pennycontrol.userservice.service;
+
+import com.pennycontrol.userservice.dto.response.UserBatchResponse;
+
+import java.util.List;
+
+public interface UserBatchService {
+
+    /**
+     * Resolve display fields of several users at once
+     * Served from the per-id cache where possible; the rest costs one query
+     *
+     * @param ids User IDs; duplicates are collapsed, at most user-batch.max-ids distinct
+     * @return Found users keyed by ID plus the IDs that were not found
+     */
+    UserBatchResponse findUsers(List<Long> ids);
+}
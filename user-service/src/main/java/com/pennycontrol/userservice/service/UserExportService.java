@@ -0,0 +1,21 @@
+package com.pennycontrol.userservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    enum Format {
+        NDJSON, CSV
+    }
+
+    /**
+     * Stream every user (with role names) to the output, ordered by ID
+     * Rows are read through a server-side cursor, so memory use does not depend on table size
+     *
+     * @param out Destination; written uncompressed, the caller decides on encoding
+     * @param format Output format
+     * @return Number of users written
+     */
+    long exportUsers(OutputStream out, Format format) throws IOException;
+}
@@ -0,0 +1,84 @@
+package com.pennycontrol.userservice.service.impl;
+
+import com.pennycontrol.common.exception.ValidationException;
+import com.pennycontrol.userservice.batch.UserBatchProperties;
+import com.pennycontrol.userservice.batch.UserSummaryCache;
+import com.pennycontrol.userservice.dto.response.UserBatchResponse;
+import com.pennycontrol.userservice.dto.response.UserSummaryResponse;
+import com.pennycontrol.userservice.repository.UserSummaryRepository;
+import com.pennycontrol.userservice.repository.UserSummaryRepository.UserSummary;
+import com.pennycontrol.userservice.service.UserBatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBatchServiceImpl implements UserBatchService {
+
+    private final UserSummaryRepository userSummaryRepository;
+    private final UserSummaryCache userSummaryCache;
+    private final UserBatchProperties userBatchProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserBatchResponse findUsers(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > userBatchProperties.getMaxIds()) {
+            throw new ValidationException("At most " + userBatchProperties.getMaxIds() + " ids per request");
+        }
+
+        Map<Long, UserSummary> resolved = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : distinctIds) {
+            UserSummary cached = userSummaryCache.get(id);
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            // Taken before the read, so a change committed meanwhile keeps these rows out of the cache
+            long generation = userSummaryCache.generation();
+            for (UserSummary summary : userSummaryRepository.findByIds(uncached)) {
+                resolved.put(summary.id(), summary);
+                userSummaryCache.put(summary, generation);
+            }
+        }
+
+        Map<Long, UserSummaryResponse> users = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinctIds) {
+            UserSummary summary = resolved.get(id);
+            if (summary != null) {
+                users.put(id, UserSummaryResponse.builder()
+                        .name(summary.name())
+                        .currency(summary.currency())
+                        .avatar(summary.avatar())
+                        .build());
+            } else {
+                missing.add(id);
+            }
+        }
+
+        log.debug("Batch lookup of {} users: {} from cache, {} queried, {} missing",
+                distinctIds.size(), distinctIds.size() - uncached.size(), uncached.size(), missing.size());
+
+        return UserBatchResponse.builder()
+                .users(users)
+                .missing(missing)
+                .build();
+    }
+}
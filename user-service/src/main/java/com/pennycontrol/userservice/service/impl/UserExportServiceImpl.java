@@ -0,0 +1,171 @@
+package com.pennycontrol.userservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.userservice.service.UserExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Streams users straight from a JDBC cursor to the output
+ *
+ * pgjdbc only uses a server-side cursor when auto-commit is off and a fetch
+ * size is set, hence the read-only transaction and the dedicated JdbcTemplate.
+ * Nothing is mapped to entities; each row is written and discarded.
+ */
+@Slf4j
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    // Correlated role lookup keeps the plan a streaming primary-key index scan (no sort or aggregate up front)
+    private static final String EXPORT_SQL = """
+            SELECT u.id, u.email, u.name, u.phone_number, u.currency,
+                   u.email_verified, u.account_locked, u.enabled, u.created_at, u.updated_at,
+                   (SELECT string_agg(r.name, ' ' ORDER BY r.name)
+                    FROM user_roles ur
+                    JOIN roles r ON r.id = ur.role_id
+                    WHERE ur.user_id = u.id) AS roles
+            FROM users u
+            ORDER BY u.id
+            """;
+
+    private static final String CSV_HEADER =
+            "id,email,name,phone_number,currency,email_verified,account_locked,enabled,created_at,updated_at,roles\n";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public UserExportServiceImpl(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long exportUsers(OutputStream out, Format format) throws IOException {
+        long startedAt = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        long[] count = new long[1];
+        try {
+            RowCallbackHandler handler = format == Format.CSV
+                    ? csvHandler(writer, count)
+                    : ndjsonHandler(writer, count);
+
+            readOnlyTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(EXPORT_SQL, handler));
+        } catch (UncheckedIOException ex) {
+            // Client disconnected or the stream failed mid-export
+            throw ex.getCause();
+        }
+        writer.flush();
+
+        log.info("Exported {} users as {} in {} ms", count[0], format, (System.nanoTime() - startedAt) / 1_000_000);
+        return count[0];
+    }
+
+    private RowCallbackHandler ndjsonHandler(Writer writer, long[] count) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // flush() per row only hands the row to the buffered writer, not to the response
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        return rs -> {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong("id"));
+                generator.writeStringField("email", rs.getString("email"));
+                generator.writeStringField("name", rs.getString("name"));
+                generator.writeStringField("phoneNumber", rs.getString("phone_number"));
+                generator.writeStringField("currency", rs.getString("currency"));
+                generator.writeBooleanField("emailVerified", rs.getBoolean("email_verified"));
+                generator.writeBooleanField("accountLocked", rs.getBoolean("account_locked"));
+                generator.writeBooleanField("enabled", rs.getBoolean("enabled"));
+                generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+                generator.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+                generator.writeArrayFieldStart("roles");
+                String roles = rs.getString("roles");
+                if (roles != null) {
+                    for (String role : roles.split(" ")) {
+                        generator.writeString(role);
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.flush();
+                writer.write('\n');
+                count[0]++;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    private RowCallbackHandler csvHandler(Writer writer, long[] count) throws IOException {
+        writer.write(CSV_HEADER);
+        return rs -> {
+            try {
+                writer.write(Long.toString(rs.getLong("id")));
+                writeCsvField(writer, rs.getString("email"));
+                writeCsvField(writer, rs.getString("name"));
+                writeCsvField(writer, rs.getString("phone_number"));
+                writeCsvField(writer, rs.getString("currency"));
+                writeCsvField(writer, Boolean.toString(rs.getBoolean("email_verified")));
+                writeCsvField(writer, Boolean.toString(rs.getBoolean("account_locked")));
+                writeCsvField(writer, Boolean.toString(rs.getBoolean("enabled")));
+                writeCsvField(writer, timestamp(rs, "created_at"));
+                writeCsvField(writer, timestamp(rs, "updated_at"));
+                writeCsvField(writer, rs.getString("roles"));
+                writer.write('\n');
+                count[0]++;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    /**
+     * Write ",value" quoting only when needed; null becomes an empty field
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().toString() : null;
+    }
+}
@@ -1,10 +1,16 @@
 package com.pennycontrol.userservice.service.impl;
 
+import com.pennycontrol.common.dto.event.UserAccountDisabledEvent;
+import com.pennycontrol.common.dto.event.UserEvents;
+import com.pennycontrol.common.dto.event.UserProfileUpdatedEvent;
 import com.pennycontrol.common.exception.BusinessException;
 import com.pennycontrol.common.exception.ErrorCode;
 import com.pennycontrol.common.exception.ResourceNotFoundException;
 import com.pennycontrol.common.exception.ValidationException;
+import com.pennycontrol.common.outbox.OutboxPublisher;
+import com.pennycontrol.common.security.revocation.TokenRevocationService;
 import com.pennycontrol.common.util.SecurityUtils;
+import com.pennycontrol.userservice.batch.UserSummaryCache;
 import com.pennycontrol.userservice.dto.request.UpdateUserProfileRequest;
 import com.pennycontrol.userservice.dto.response.UserResponse;
 import com.pennycontrol.common.entity.User;
@@ -15,12 +21,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final OutboxPublisher outboxPublisher;
+    private final UserSummaryCache userSummaryCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -77,22 +90,37 @@ public class UserServiceImpl implements UserService {
         }
 
         // Update user fields (only update if not null)
-        if (request.getName() != null) {
+        List<String> changedFields = new ArrayList<>();
+        if (request.getName() != null && !request.getName().equals(user.getName())) {
             user.setName(request.getName());
+            changedFields.add("name");
         }
-        if (request.getPhoneNumber() != null) {
+        if (request.getPhoneNumber() != null && !request.getPhoneNumber().equals(user.getPhoneNumber())) {
             user.setPhoneNumber(request.getPhoneNumber());
+            changedFields.add("phoneNumber");
         }
-        if (request.getCurrency() != null) {
+        if (request.getCurrency() != null && !request.getCurrency().equals(user.getCurrency())) {
             user.setCurrency(request.getCurrency());
+            changedFields.add("currency");
         }
-        if (request.getAvatar() != null) {
+        if (request.getAvatar() != null && !request.getAvatar().equals(user.getAvatar())) {
             user.setAvatar(request.getAvatar());
+            changedFields.add("avatar");
         }
 
         // Save updated user
         User updatedUser = userRepository.save(user);
 
+        if (!changedFields.isEmpty()) {
+            outboxPublisher.publish(UserEvents.AGGREGATE_TYPE, currentUserId, UserEvents.PROFILE_UPDATED,
+                    UserProfileUpdatedEvent.builder()
+                            .userId(currentUserId)
+                            .changedFields(changedFields)
+                            .updatedAt(LocalDateTime.now())
+                            .build());
+            userSummaryCache.evictAfterCommit(currentUserId);
+        }
+
         log.info("Successfully updated profile for user ID: {}", currentUserId);
 
         // Map to response DTO
@@ -131,6 +159,16 @@ public class UserServiceImpl implements UserService {
         user.setAccountLocked(true);
         userRepository.save(user);
 
+        // Outstanding access tokens would otherwise stay valid until they expire
+        tokenRevocationService.revokeAllTokens(currentUserId);
+
+        outboxPublisher.publish(UserEvents.AGGREGATE_TYPE, currentUserId, UserEvents.ACCOUNT_DISABLED,
+                UserAccountDisabledEvent.builder()
+                        .userId(currentUserId)
+                        .disabledAt(LocalDateTime.now())
+                        .build());
+        userSummaryCache.evictAfterCommit(currentUserId);
+
         log.info("Successfully soft-deleted account for user ID: {}", currentUserId);
     }
 }
@@ -0,0 +1,77 @@
+package com.pennycontrol.userservice.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.dto.ApiResponse;
+import com.pennycontrol.common.entity.Role;
+import com.pennycontrol.common.warmup.WarmupTask;
+import com.pennycontrol.userservice.dto.response.UserResponse;
+import com.pennycontrol.userservice.repository.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Replays the GET /api/v1/users/me read path for an existing user:
+ * read-only transaction, entity load with roles, DTO mapping, JSON envelope
+ */
+@Component
+public class UserProfileWarmupTask implements WarmupTask {
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private Long sampleUserId;
+
+    public UserProfileWarmupTask(
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public String name() {
+        return "user-profile";
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (sampleUserId == null) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id LIMIT 1", Long.class);
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("no users to read");
+            }
+            sampleUserId = ids.get(0);
+        }
+
+        UserResponse response = readOnlyTransaction.execute(status -> userRepository.findById(sampleUserId)
+                .map(user -> UserResponse.builder()
+                        .id(user.getId())
+                        .email(user.getEmail())
+                        .name(user.getName())
+                        .phoneNumber(user.getPhoneNumber())
+                        .avatar(user.getAvatar())
+                        .currency(user.getCurrency())
+                        .roles(user.getRoles().stream()
+                                .map(Role::getName)
+                                .collect(Collectors.toSet()))
+                        .emailVerified(user.getEmailVerified())
+                        .createdAt(user.getCreatedAt())
+                        .updatedAt(user.getUpdatedAt())
+                        .build())
+                .orElse(null));
+
+        objectMapper.writeValueAsBytes(ApiResponse.success(response));
+    }
+}
@@ -0,0 +1,57 @@
+package com.pennycontrol.userservice.batch;
+
+import com.pennycontrol.userservice.repository.UserSummaryRepository.UserSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSummaryCacheTest {
+
+    private static final UserSummary ALICE = new UserSummary(1L, "Alice", "EUR", null);
+    private static final UserSummary BOB = new UserSummary(2L, "Bob", "USD", null);
+    private static final UserSummary CAROL = new UserSummary(3L, "Carol", "GBP", null);
+
+    @Test
+    void rowReadBeforeAnEvictionIsNotCached() {
+        UserSummaryCache cache = new UserSummaryCache(new UserBatchProperties());
+
+        // Lookup reads the old row, the update commits and evicts, then the lookup puts
+        long readGeneration = cache.generation();
+        cache.evict(ALICE.id());
+        cache.put(ALICE, readGeneration);
+
+        assertThat(cache.get(ALICE.id())).isNull();
+
+        cache.put(ALICE, cache.generation());
+        assertThat(cache.get(ALICE.id())).isEqualTo(ALICE);
+    }
+
+    @Test
+    void leastRecentlyReadEntryMakesRoomWhenFull() {
+        UserBatchProperties properties = new UserBatchProperties();
+        properties.setCacheMaxEntries(2);
+        UserSummaryCache cache = new UserSummaryCache(properties);
+
+        cache.put(ALICE, cache.generation());
+        cache.put(BOB, cache.generation());
+        cache.get(ALICE.id());
+        cache.put(CAROL, cache.generation());
+
+        assertThat(cache.get(ALICE.id())).isEqualTo(ALICE);
+        assertThat(cache.get(BOB.id())).isNull();
+        assertThat(cache.get(CAROL.id())).isEqualTo(CAROL);
+    }
+
+    @Test
+    void expiredEntryIsNotServed() {
+        UserBatchProperties properties = new UserBatchProperties();
+        properties.setCacheTtl(Duration.ZERO);
+        UserSummaryCache cache = new UserSummaryCache(properties);
+
+        cache.put(ALICE, cache.generation());
+
+        assertThat(cache.get(ALICE.id())).isNull();
+    }
+}
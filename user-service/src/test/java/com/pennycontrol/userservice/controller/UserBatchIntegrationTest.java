@@ -0,0 +1,174 @@
+package com.pennycontrol.userservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.diagnostics.sql.StatementCountRegistry;
+import com.pennycontrol.common.dto.UserPrincipal;
+import com.pennycontrol.common.security.jwt.JwtTokenProvider;
+import com.pennycontrol.common.test.PostgresTestDatabase;
+import com.pennycontrol.userservice.batch.UserBatchProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static com.pennycontrol.common.diagnostics.sql.StatementCountAssertions.assertStatementCount;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/v1/users/batch against a migrated Postgres: partial results,
+ * repeated ids, the id limit, the summary cache and who may call it
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserBatchIntegrationTest {
+
+    private static final String ENDPOINT = "POST /api/v1/users/batch";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private StatementCountRegistry statementCountRegistry;
+
+    @Autowired
+    private UserBatchProperties userBatchProperties;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void unknownAndDisabledUsersAreReportedAsMissing() throws Exception {
+        long found = insertUser("Found User");
+        long disabled = insertUser("Disabled User");
+        jdbcTemplate.update("UPDATE users SET enabled = false WHERE id = ?", disabled);
+
+        batch(List.of(found, disabled, -1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users", aMapWithSize(1)))
+                .andExpect(jsonPath("$.data.users['" + found + "'].name").value("Found User"))
+                .andExpect(jsonPath("$.data.users['" + found + "'].currency").value("USD"))
+                .andExpect(jsonPath("$.data.missing", contains((int) disabled, -1)));
+    }
+
+    @Test
+    void repeatedIdsAreResolvedOnce() throws Exception {
+        long first = insertUser("First User");
+        long second = insertUser("Second User");
+
+        batch(List.of(first, second, first, first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users", aMapWithSize(2)))
+                .andExpect(jsonPath("$.data.missing", empty()));
+
+        assertStatementCount(statementCountRegistry, ENDPOINT, 1);
+    }
+
+    @Test
+    void moreDistinctIdsThanMaxIdsAreRejected() throws Exception {
+        int maxIds = userBatchProperties.getMaxIds();
+
+        batch(LongStream.rangeClosed(1, maxIds + 1).boxed().toList())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("VAL_001"));
+
+        // The limit counts distinct ids, so repeats on top of it are accepted
+        List<Long> atLimitWithRepeats = LongStream.rangeClosed(1, maxIds + 1)
+                .map(id -> Math.min(id, maxIds))
+                .boxed()
+                .toList();
+        batch(atLimitWithRepeats)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void cachedUsersAreServedWithoutStatementsUntilTheyChange() throws Exception {
+        long userId = insertUser("Cached User");
+
+        batch(List.of(userId)).andExpect(status().isOk());
+        assertStatementCount(statementCountRegistry, ENDPOINT, 1);
+
+        batch(List.of(userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users['" + userId + "'].name").value("Cached User"));
+        assertStatementCount(statementCountRegistry, ENDPOINT, 0);
+
+        mockMvc.perform(put("/api/v1/users/me")
+                        .header("Authorization", "Bearer " + accessToken(userId, "ROLE_USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "Renamed User"))))
+                .andExpect(status().isOk());
+
+        batch(List.of(userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.users['" + userId + "'].name").value("Renamed User"));
+        assertStatementCount(statementCountRegistry, ENDPOINT, 1);
+    }
+
+    @Test
+    void callersWithoutServiceOrAdminRoleAreDenied() throws Exception {
+        long userId = insertUser("Plain User");
+
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .header("Authorization", "Bearer " + accessToken(userId, "ROLE_USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(userId)))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error.code").value("AUTH_003"));
+    }
+
+    private ResultActions batch(List<Long> ids) throws Exception {
+        return mockMvc.perform(post("/api/v1/users/batch")
+                .header("Authorization", "Bearer " + accessToken(0L, "ROLE_SERVICE"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids))));
+    }
+
+    private long insertUser(String name) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password_hash, name, currency)
+                VALUES (?, 'not-a-bcrypt-hash', ?, 'USD')
+                RETURNING id
+                """, Long.class, "user-" + UUID.randomUUID() + "@example.com", name);
+        jdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT ?, id FROM roles WHERE name = 'ROLE_USER'
+                """, id);
+        return id;
+    }
+
+    private String accessToken(long userId, String... roles) {
+        return jwtTokenProvider.generateAccessToken(
+                UserPrincipal.create(userId, "user-" + userId + "@example.com", null, Set.of(roles)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.pennycontrol.userservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pennycontrol.common.diagnostics.DiagnosticsProperties;
+import com.pennycontrol.common.diagnostics.sql.StatementCountRegistry;
+import com.pennycontrol.common.dto.UserPrincipal;
+import com.pennycontrol.common.security.jwt.JwtTokenProvider;
+import com.pennycontrol.common.test.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.pennycontrol.common.diagnostics.sql.StatementCountAssertions.assertWithinBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs every budgeted user endpoint against a migrated Postgres and fails
+ * when one executes more statements than diagnostics.statement-budgets allows
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private StatementCountRegistry statementCountRegistry;
+
+    @Autowired
+    private DiagnosticsProperties diagnosticsProperties;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        statementCountRegistry.reset();
+    }
+
+    @Test
+    void everyBudgetedEndpointStaysWithinItsStatementBudget() throws Exception {
+        long userId = insertUser("Budget Check");
+        long otherId = insertUser("Other User");
+        String bearer = "Bearer " + accessToken(userId, "ROLE_USER");
+
+        mockMvc.perform(get("/api/v1/users/me").header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/v1/users/me")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "name", "Renamed",
+                                "phoneNumber", "+1555" + (1_000_000 + System.nanoTime() % 9_000_000),
+                                "currency", "EUR"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .header("Authorization", "Bearer " + accessToken(otherId, "ROLE_SERVICE"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(userId, otherId, -1L)))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/users/me").header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        for (String endpoint : diagnosticsProperties.getStatementBudgets().keySet()) {
+            assertWithinBudget(statementCountRegistry, diagnosticsProperties, endpoint);
+        }
+    }
+
+    private long insertUser(String name) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password_hash, name, currency)
+                VALUES (?, 'not-a-bcrypt-hash', ?, 'USD')
+                RETURNING id
+                """, Long.class, "user-" + UUID.randomUUID() + "@example.com", name);
+        jdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT ?, id FROM roles WHERE name = 'ROLE_USER'
+                """, id);
+        return id;
+    }
+
+    private String accessToken(long userId, String... roles) {
+        return jwtTokenProvider.generateAccessToken(
+                UserPrincipal.create(userId, "user-" + userId + "@example.com", null, Set.of(roles)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.pennycontrol.userservice.repository;
+
+import com.pennycontrol.common.test.PostgresTestDatabase;
+import com.pennycontrol.common.test.plan.CapturedStatement;
+import com.pennycontrol.common.test.plan.PlanExpectation;
+import com.pennycontrol.common.test.plan.QueryCapture;
+import com.pennycontrol.common.test.plan.QueryPlanDataset;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+import static com.pennycontrol.common.test.plan.QueryPlanAssertions.assertPlan;
+
+/**
+ * Access paths of the hot user-service repository queries on a seeded database
+ *
+ * Each test calls the real repository method and checks the plan of the SQL
+ * it executed, so a mapping or migration change is covered without editing
+ * the test. Run by the checkQueryPlans task.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(QueryCapture.class)
+@Tag("query-plan")
+class UserQueryPlanTest {
+
+    private static final Set<String> EMAIL_INDEXES = Set.of("users_email_key", "idx_users_email");
+    private static final Set<String> PHONE_INDEXES = Set.of("users_phone_number_key", "idx_users_phone_number");
+
+    @Autowired
+    private QueryCapture queryCapture;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeAll
+    static void seed() throws Exception {
+        QueryPlanDataset.seed();
+    }
+
+    @Test
+    void findByIdUsesPrimaryKey() {
+        long id = someUserId();
+        CapturedStatement statement = queryCapture.captureFirst("from users", () -> userRepository.findById(id));
+
+        assertPlan(dataSource, statement, new PlanExpectation(Set.of("users_pkey"), Set.of("users"), 1));
+    }
+
+    @Test
+    void eagerRolesFetchUsesUserRolesIndex() {
+        long id = someUserId();
+        CapturedStatement statement = queryCapture.captureFirst("from user_roles", () -> userRepository.findById(id));
+
+        assertPlan(dataSource, statement, new PlanExpectation(
+                Set.of("user_roles_pkey", "idx_user_roles_user_id"), Set.of("user_roles"), 10));
+    }
+
+    @Test
+    void findByEmailUsesEmailIndex() {
+        String email = jdbcTemplate.queryForObject(
+                "SELECT email FROM users ORDER BY id OFFSET 1000 LIMIT 1", String.class);
+        CapturedStatement statement = queryCapture.captureFirst("from users",
+                () -> userRepository.findByEmail(email));
+
+        assertPlan(dataSource, statement, new PlanExpectation(EMAIL_INDEXES, Set.of("users"), 1));
+    }
+
+    @Test
+    void findByPhoneNumberUsesPhoneIndex() {
+        String phoneNumber = jdbcTemplate.queryForObject(
+                "SELECT phone_number FROM users WHERE phone_number IS NOT NULL ORDER BY id OFFSET 100 LIMIT 1",
+                String.class);
+        CapturedStatement statement = queryCapture.captureFirst("from users",
+                () -> userRepository.findByPhoneNumber(phoneNumber));
+
+        assertPlan(dataSource, statement, new PlanExpectation(PHONE_INDEXES, Set.of("users"), 1));
+    }
+
+    @Test
+    void batchLookupUsesPrimaryKey() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM users ORDER BY id OFFSET 1000 LIMIT 200", Long.class);
+        CapturedStatement statement = queryCapture.captureFirst("from users",
+                () -> userSummaryRepository.findByIds(ids));
+
+        assertPlan(dataSource, statement, new PlanExpectation(Set.of("users_pkey"), Set.of("users"), 200));
+    }
+
+    private long someUserId() {
+        return jdbcTemplate.queryForObject("SELECT id FROM users ORDER BY id OFFSET 1000 LIMIT 1", Long.class);
+    }
+}